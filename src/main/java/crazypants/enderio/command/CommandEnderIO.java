@@ -0,0 +1,88 @@
+package crazypants.enderio.command;
+
+import java.util.List;
+
+import net.minecraft.command.CommandBase;
+import net.minecraft.command.ICommandSender;
+import net.minecraft.command.WrongUsageException;
+import net.minecraft.util.ChatComponentText;
+
+import crazypants.enderio.EnderIO;
+import crazypants.enderio.conduit.profiler.ConduitNetworkProfiler;
+import crazypants.enderio.conduit.profiler.ProfilerEntry;
+import crazypants.enderio.conduit.profiler.TickStats;
+
+/**
+ * /enderio profile start|stop|networks [count]|endpoints [count]
+ */
+public class CommandEnderIO extends CommandBase {
+
+  private static final int DEFAULT_COUNT = 10;
+
+  @Override
+  public String getCommandName() {
+    return "enderio";
+  }
+
+  @Override
+  public String getCommandUsage(ICommandSender sender) {
+    return "enderio.command.usage";
+  }
+
+  @Override
+  public int getRequiredPermissionLevel() {
+    return 2;
+  }
+
+  @Override
+  public void processCommand(ICommandSender sender, String[] args) {
+    if(args.length < 2 || !"profile".equals(args[0])) {
+      throw new WrongUsageException(getCommandUsage(sender));
+    }
+    String action = args[1];
+    if("start".equals(action)) {
+      ConduitNetworkProfiler.setEnabled(true);
+      sendMessage(sender, EnderIO.lang.localize("command.profile.started", TickStats.WINDOW));
+    } else if("stop".equals(action)) {
+      ConduitNetworkProfiler.setEnabled(false);
+      sendMessage(sender, EnderIO.lang.localize("command.profile.stopped"));
+    } else if("networks".equals(action) || "endpoints".equals(action)) {
+      if(!ConduitNetworkProfiler.isEnabled()) {
+        sendMessage(sender, EnderIO.lang.localize("command.profile.notRunning"));
+        return;
+      }
+      int count = args.length > 2 ? parseIntBounded(sender, args[2], 1, 100) : DEFAULT_COUNT;
+      List<ProfilerEntry> entries = "networks".equals(action) ? ConduitNetworkProfiler.getTopNetworks(count) : ConduitNetworkProfiler
+          .getTopEndpoints(count);
+      sendMessage(sender, EnderIO.lang.localize("command.profile.header", entries.size(), TickStats.WINDOW));
+      for (ProfilerEntry entry : entries) {
+        sendMessage(sender, format(entry));
+      }
+    } else {
+      throw new WrongUsageException(getCommandUsage(sender));
+    }
+  }
+
+  private static String format(ProfilerEntry entry) {
+    TickStats stats = entry.stats;
+    return String.format("%.1f us/t, %d calls, %.1f moved/t - %s @ %d, %d, %d (dim %d)", stats.getAverageMicrosPerTick(), stats.getTotalCalls(),
+        stats.getAverageMovedPerTick(), entry.name, entry.location.x, entry.location.y, entry.location.z, entry.dimension);
+  }
+
+  private static void sendMessage(ICommandSender sender, String msg) {
+    sender.addChatMessage(new ChatComponentText(msg));
+  }
+
+  @Override
+  @SuppressWarnings("rawtypes")
+  public List addTabCompletionOptions(ICommandSender sender, String[] args) {
+    if(args.length == 1) {
+      return getListOfStringsMatchingLastWord(args, "profile");
+    }
+    if(args.length == 2) {
+      return getListOfStringsMatchingLastWord(args, "start", "stop", "networks", "endpoints");
+    }
+    return null;
+  }
+
+}
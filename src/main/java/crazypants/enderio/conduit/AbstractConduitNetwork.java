@@ -1,17 +1,37 @@
 package crazypants.enderio.conduit;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
 
 import net.minecraft.tileentity.TileEntity;
+import net.minecraft.world.ChunkCoordIntPair;
 import net.minecraft.world.World;
 
+import com.enderio.core.common.util.BlockCoord;
+
+import crazypants.enderio.conduit.profiler.ProfilerEntry;
+import crazypants.enderio.conduit.profiler.TickStats;
+
 //I=base type, I is the base class of the implementations accepted by the network 
 public abstract class AbstractConduitNetwork<T extends IConduit, I extends T> {
 
   protected final List<I> conduits = new ArrayList<I>();
 
+  // Mirrors conduits so membership checks don't need a linear scan
+  private final Set<I> conduitSet = Collections.newSetFromMap(new IdentityHashMap<I, Boolean>());
+
+  // Chunks this network has conduits in, used to group networks for the parallel tick phase
+  private final Set<Long> chunks = new HashSet<Long>();
+
+  private TickStats tickStats;
+
   protected final Class<I> implClass;
   protected final Class<T> baseConduitClass;
 
@@ -26,13 +46,7 @@ public abstract class AbstractConduitNetwork<T extends IConduit, I extends T> {
       throw new UnsupportedOperationException();
     }
 
-    // Destroy all existing redstone networks around this block
-    for (I con : connections) {
-      AbstractConduitNetwork<?, ?> network = con.getNetwork();
-      if(network != null) {
-        network.destroyNetwork();
-      }
-    }
+    // Any neighbouring networks are absorbed as the walk reaches them
     setNetwork(world, tile);
     notifyNetworkOfUpdate();
   }
@@ -41,39 +55,90 @@ public abstract class AbstractConduitNetwork<T extends IConduit, I extends T> {
     return baseConduitClass;
   }
 
+  /**
+   * Walks the conduits connected to the given bundle breadth first, adding
+   * each one to this network. The walk is iterative so large networks can't
+   * overflow the stack. Other networks found along the way are destroyed and
+   * their conduits taken over.
+   */
   protected void setNetwork(World world, IConduitBundle tile) {
 
     T conduit = tile.getConduit(getBaseConduitType());
+    if(!claimConduit(conduit)) {
+      return;
+    }
 
-    if(conduit != null && implClass.isAssignableFrom(conduit.getClass()) && conduit.setNetwork(this)) {
-      addConduit(implClass.cast(conduit));
-      TileEntity te = tile.getEntity();
+    Deque<T> toVisit = new ArrayDeque<T>();
+    toVisit.add(conduit);
+    while (!toVisit.isEmpty()) {
+      TileEntity te = toVisit.poll().getBundle().getEntity();
       Collection<T> connections = ConduitUtil.getConnectedConduits(world, te.xCoord, te.yCoord, te.zCoord, getBaseConduitType());
       for (T con : connections) {
-        if(con.getNetwork() == null) {
-          setNetwork(world, con.getBundle());
-        } else if(con.getNetwork() != this) {
+        if(containsConduit(con)) {
+          continue;
+        }
+        if(con.getNetwork() != null && con.getNetwork() != this) {
           con.getNetwork().destroyNetwork();
-          setNetwork(world, con.getBundle());
         }
+        if(claimConduit(con)) {
+          toVisit.add(con);
+        }
+      }
+    }
+  }
+
+  private boolean claimConduit(T conduit) {
+    if(conduit != null && implClass.isAssignableFrom(conduit.getClass()) && conduit.setNetwork(this)) {
+      addConduit(implClass.cast(conduit));
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * Merges the given network into this one. Only the conduits of the other
+   * network are touched, so callers should absorb the smaller network into
+   * the larger one.
+   */
+  public void absorbNetwork(AbstractConduitNetwork<?, ?> other) {
+    if(other == this) {
+      return;
+    }
+    List<IConduit> absorbed = new ArrayList<IConduit>(other.getConduits());
+    other.destroyNetwork();
+    for (IConduit con : absorbed) {
+      if(implClass.isInstance(con) && !containsConduit(con) && con.setNetwork(this)) {
+        I added = implClass.cast(con);
+        addConduit(added);
+        notifyConduitOfUpdate(added);
       }
     }
   }
 
   public void addConduit(I con) {
-    if(!conduits.contains(con)) {
+    if(conduitSet.add(con)) {
       if(conduits.isEmpty()) {
         ConduitNetworkTickHandler.instance.registerNetwork(this);
       }
       conduits.add(con);
+      BlockCoord loc = con.getLocation();
+      if(loc != null && chunks.add(ChunkCoordIntPair.chunkXZ2Int(loc.x >> 4, loc.z >> 4))) {
+        ConduitNetworkTickHandler.instance.networkMoved(this);
+      }
     }
   }
 
+  public boolean containsConduit(IConduit con) {
+    return conduitSet.contains(con);
+  }
+
   public void destroyNetwork() {
     for (I con : conduits) {
       con.setNetwork(null);
     }
     conduits.clear();
+    conduitSet.clear();
+    chunks.clear();
     ConduitNetworkTickHandler.instance.unregisterNetwork(this);
   }
 
@@ -81,13 +146,35 @@ public abstract class AbstractConduitNetwork<T extends IConduit, I extends T> {
     return conduits;
   }
 
+  public Set<Long> getChunks() {
+    return chunks;
+  }
+
+  public TickStats getTickStats() {
+    if(tickStats == null) {
+      tickStats = new TickStats();
+    }
+    return tickStats;
+  }
+
+  /**
+   * Adds the stats of anything within the network that is profiled
+   * individually, such as inventories or power receptors.
+   */
+  public void addProfiledEndpoints(List<ProfilerEntry> entries) {
+  }
+
   public void notifyNetworkOfUpdate() {
     for (I con : conduits) {
-      TileEntity te = con.getBundle().getEntity();
-      te.getWorldObj().markBlockForUpdate(te.xCoord, te.yCoord, te.zCoord);
+      notifyConduitOfUpdate(con);
     }
   }
 
+  public void notifyConduitOfUpdate(I con) {
+    TileEntity te = con.getBundle().getEntity();
+    te.getWorldObj().markBlockForUpdate(te.xCoord, te.yCoord, te.zCoord);
+  }
+
   @Override
   public String toString() {
     StringBuilder sb = new StringBuilder();
@@ -98,6 +185,16 @@ public abstract class AbstractConduitNetwork<T extends IConduit, I extends T> {
     return "AbstractConduitNetwork [conduits=" + sb.toString() + "]";
   }
 
+  /**
+   * Called each server tick before {@link #doNetworkTick()}. When parallel
+   * network ticks are enabled this runs on a worker thread, concurrently with
+   * networks that share no chunks with this one, so it may only touch state
+   * owned by the network and its conduits. Anything that reads or changes the
+   * world belongs in doNetworkTick, which always runs on the server thread.
+   */
+  public void prepareNetworkTick() {
+  }
+
   public void doNetworkTick() {
   }
 }
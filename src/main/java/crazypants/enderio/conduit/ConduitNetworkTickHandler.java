@@ -1,12 +1,24 @@
 package crazypants.enderio.conduit;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import cpw.mods.fml.common.eventhandler.SubscribeEvent;
 import cpw.mods.fml.common.gameevent.TickEvent;
 import cpw.mods.fml.common.gameevent.TickEvent.Phase;
+import crazypants.enderio.Log;
+import crazypants.enderio.conduit.profiler.ConduitNetworkProfiler;
+import crazypants.enderio.config.Config;
 
 public class ConduitNetworkTickHandler {
 
@@ -23,6 +35,12 @@ public class ConduitNetworkTickHandler {
   private final IdentityHashMap<AbstractConduitNetwork<?,?>, Boolean> networks =
           new IdentityHashMap<AbstractConduitNetwork<?, ?>, Boolean>();
 
+  // Networks grouped so no two groups share a chunk, rebuilt only when a
+  // network is added, removed or spreads into another chunk
+  private List<PrepareTask> prepareTasks;
+
+  private ExecutorService executor;
+
   public void addListener(TickListener listener) {
     listeners.add(listener);
   }
@@ -33,10 +51,23 @@ public class ConduitNetworkTickHandler {
 
   public void registerNetwork(AbstractConduitNetwork<?,?> cn) {
     networks.put(cn, Boolean.TRUE);
+    prepareTasks = null;
   }
 
   public void unregisterNetwork(AbstractConduitNetwork<?,?> cn) {
-    networks.remove(cn);
+    if(networks.remove(cn) != null) {
+      prepareTasks = null;
+    }
+  }
+
+  void networkMoved(AbstractConduitNetwork<?, ?> cn) {
+    if(networks.containsKey(cn)) {
+      prepareTasks = null;
+    }
+  }
+
+  public List<AbstractConduitNetwork<?, ?>> getNetworks() {
+    return new ArrayList<AbstractConduitNetwork<?, ?>>(networks.keySet());
   }
 
   @SubscribeEvent
@@ -59,8 +90,150 @@ public class ConduitNetworkTickHandler {
       h.tickEnd(event);
     }
     listeners.clear();
-    for(AbstractConduitNetwork<?,?> cn : networks.keySet()) {
-      cn.doNetworkTick();
+    boolean profiling = ConduitNetworkProfiler.isEnabled();
+    if(profiling) {
+      ConduitNetworkProfiler.onServerTick();
+    }
+    if(networks.isEmpty()) {
+      return;
+    }
+    // Copy so networks created or destroyed during the tick can't upset the iteration
+    List<AbstractConduitNetwork<?, ?>> toTick = new ArrayList<AbstractConduitNetwork<?, ?>>(networks.keySet());
+    // Profiling ticks each network in one go so its whole cost is attributed to it
+    boolean parallel = Config.conduitParallelNetworkTicksEnabled && !profiling && toTick.size() > 1;
+    if(parallel) {
+      prepareInParallel();
+    }
+    for (AbstractConduitNetwork<?, ?> cn : toTick) {
+      if(networks.containsKey(cn)) {
+        if(profiling) {
+          long start = System.nanoTime();
+          cn.prepareNetworkTick();
+          cn.doNetworkTick();
+          cn.getTickStats().addTime(System.nanoTime() - start);
+        } else {
+          if(!parallel) {
+            cn.prepareNetworkTick();
+          }
+          cn.doNetworkTick();
+        }
+      }
+    }
+  }
+
+  private void prepareInParallel() {
+    if(prepareTasks == null) {
+      prepareTasks = createPrepareTasks();
+    }
+    if(prepareTasks.size() == 1) {
+      // everything shares a chunk with something else, so no point handing it off
+      prepareTasks.get(0).call();
+      return;
+    }
+    try {
+      for (Future<Void> f : getExecutor().invokeAll(prepareTasks)) {
+        try {
+          f.get();
+        } catch (ExecutionException e) {
+          Log.LOGGER.warn("ConduitNetworkTickHandler: Exception thrown preparing conduit network tick", e.getCause());
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Networks that have conduits in a common chunk end up in the same task, so
+   * different conduit types sharing a bundle are never prepared concurrently.
+   */
+  private List<PrepareTask> createPrepareTasks() {
+    List<AbstractConduitNetwork<?, ?>> all = new ArrayList<AbstractConduitNetwork<?, ?>>(networks.keySet());
+    int[] parent = new int[all.size()];
+    Map<Long, Integer> chunkOwner = new HashMap<Long, Integer>();
+    for (int i = 0; i < parent.length; i++) {
+      parent[i] = i;
+      for (Long chunk : all.get(i).getChunks()) {
+        Integer owner = chunkOwner.get(chunk);
+        if(owner == null) {
+          chunkOwner.put(chunk, i);
+        } else {
+          parent[findRoot(parent, i)] = findRoot(parent, owner);
+        }
+      }
+    }
+    Map<Integer, List<AbstractConduitNetwork<?, ?>>> groups = new HashMap<Integer, List<AbstractConduitNetwork<?, ?>>>();
+    for (int i = 0; i < parent.length; i++) {
+      int root = findRoot(parent, i);
+      List<AbstractConduitNetwork<?, ?>> group = groups.get(root);
+      if(group == null) {
+        group = new ArrayList<AbstractConduitNetwork<?, ?>>();
+        groups.put(root, group);
+      }
+      group.add(all.get(i));
+    }
+    List<PrepareTask> res = new ArrayList<PrepareTask>(groups.size());
+    for (List<AbstractConduitNetwork<?, ?>> group : groups.values()) {
+      res.add(new PrepareTask(group));
+    }
+    return res;
+  }
+
+  private static int findRoot(int[] parent, int i) {
+    while (parent[i] != i) {
+      parent[i] = parent[parent[i]];
+      i = parent[i];
+    }
+    return i;
+  }
+
+  private ExecutorService getExecutor() {
+    if(executor == null) {
+      int threads = Config.conduitParallelNetworkTickThreads;
+      if(threads <= 0) {
+        threads = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+      }
+      executor = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+          Thread t = new Thread(r, "EnderIO Conduit Tick " + count.incrementAndGet());
+          t.setDaemon(true);
+          return t;
+        }
+      });
+    }
+    return executor;
+  }
+
+  /**
+   * Stops the worker threads, called when the server stops. They are started
+   * again on first use.
+   */
+  public void shutdown() {
+    if(executor != null) {
+      executor.shutdown();
+      executor = null;
+    }
+    prepareTasks = null;
+  }
+
+  private static class PrepareTask implements Callable<Void> {
+
+    private final List<AbstractConduitNetwork<?, ?>> group;
+
+    PrepareTask(List<AbstractConduitNetwork<?, ?>> group) {
+      this.group = group;
+    }
+
+    @Override
+    public Void call() {
+      for (AbstractConduitNetwork<?, ?> cn : group) {
+        cn.prepareNetworkTick();
+      }
+      return null;
     }
   }
 
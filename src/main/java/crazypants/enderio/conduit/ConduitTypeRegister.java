@@ -0,0 +1,95 @@
+package crazypants.enderio.conduit;
+
+import java.lang.reflect.Constructor;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import crazypants.enderio.conduit.gas.GasUtil;
+import crazypants.enderio.conduit.me.MEUtil;
+
+/**
+ * Assigns the conduit types short IDs for saving and caches their
+ * constructors. The IDs are written to disk, so entries may only ever be
+ * appended to {@link #TYPES}. Conduits not listed here are still saved by
+ * class name.
+ */
+public class ConduitTypeRegister {
+
+  public static final int UNREGISTERED = 0;
+
+  // Held as names so optional conduits don't load their classes (and the APIs
+  // they depend on) unless they are actually used
+  private static final String[] TYPES = {
+      null,
+      "crazypants.enderio.conduit.power.PowerConduit",
+      "crazypants.enderio.conduit.redstone.RedstoneConduit",
+      "crazypants.enderio.conduit.redstone.InsulatedRedstoneConduit",
+      "crazypants.enderio.conduit.redstone.RedstoneSwitch",
+      "crazypants.enderio.conduit.liquid.LiquidConduit",
+      "crazypants.enderio.conduit.liquid.AdvancedLiquidConduit",
+      "crazypants.enderio.conduit.liquid.EnderLiquidConduit",
+      "crazypants.enderio.conduit.item.ItemConduit",
+      "crazypants.enderio.conduit.gas.GasConduit",
+      "crazypants.enderio.conduit.me.MEConduit"
+  };
+
+  private static final Map<String, Integer> idsByName = new ConcurrentHashMap<String, Integer>();
+  private static final Map<Class<?>, Integer> idsByClass = new ConcurrentHashMap<Class<?>, Integer>();
+  private static final Map<String, Constructor<?>> constructors = new ConcurrentHashMap<String, Constructor<?>>();
+
+  static {
+    for (int i = 1; i < TYPES.length; i++) {
+      idsByName.put(TYPES[i], i);
+    }
+  }
+
+  public static int getId(IConduit conduit) {
+    Class<?> clazz = conduit.getClass();
+    Integer res = idsByClass.get(clazz);
+    if(res == null) {
+      res = idsByName.get(clazz.getCanonicalName());
+      if(res == null) {
+        res = UNREGISTERED;
+      }
+      idsByClass.put(clazz, res);
+    }
+    return res;
+  }
+
+  /**
+   * @return the class name for the given ID, or null if the ID is unknown
+   */
+  public static String getTypeName(int id) {
+    if(id <= UNREGISTERED || id >= TYPES.length) {
+      return null;
+    }
+    return TYPES[id];
+  }
+
+  public static boolean isTypeEnabled(String typeName) {
+    if(typeName.contains("conduit.me") && !MEUtil.isMEEnabled()) {
+      return false;
+    }
+    if(typeName.contains("conduit.gas") && !GasUtil.isGasConduitEnabled()) {
+      return false;
+    }
+    return true;
+  }
+
+  public static IConduit createConduit(String typeName) {
+    try {
+      Constructor<?> ctor = constructors.get(typeName);
+      if(ctor == null) {
+        ctor = Class.forName(typeName).getConstructor();
+        constructors.put(typeName, ctor);
+      }
+      return (IConduit) ctor.newInstance();
+    } catch (Exception e) {
+      throw new RuntimeException("Could not create an instance of the conduit with name: " + typeName, e);
+    }
+  }
+
+  private ConduitTypeRegister() {
+  }
+
+}
@@ -13,6 +13,8 @@ import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.init.Blocks;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.nbt.NBTTagString;
 import net.minecraft.tileentity.TileEntity;
 import net.minecraft.world.IBlockAccess;
 import net.minecraft.world.World;
@@ -33,7 +35,6 @@ import crazypants.enderio.Log;
 import crazypants.enderio.api.tool.IHideFacades;
 import crazypants.enderio.conduit.IConduitBundle.FacadeRenderState;
 import crazypants.enderio.conduit.gas.GasConduitNetwork;
-import crazypants.enderio.conduit.gas.GasUtil;
 import crazypants.enderio.conduit.gas.IGasConduit;
 import crazypants.enderio.conduit.item.IItemConduit;
 import crazypants.enderio.conduit.item.ItemConduitNetwork;
@@ -45,7 +46,6 @@ import crazypants.enderio.conduit.liquid.ILiquidConduit;
 import crazypants.enderio.conduit.liquid.LiquidConduitNetwork;
 import crazypants.enderio.conduit.me.IMEConduit;
 import crazypants.enderio.conduit.me.MEConduitNetwork;
-import crazypants.enderio.conduit.me.MEUtil;
 import crazypants.enderio.conduit.power.IPowerConduit;
 import crazypants.enderio.conduit.power.PowerConduitNetwork;
 import crazypants.enderio.conduit.redstone.IInsulatedRedstoneConduit;
@@ -98,12 +98,13 @@ public class ConduitUtil {
 
   @SuppressWarnings({ "unchecked", "rawtypes" })
   private static boolean reuseNetwork(IConduit con, Collection<? extends IConduit> connections, World world) {
+    // Join the largest neighbouring network and merge any others into it, so
+    // only the smaller networks need to be walked
     AbstractConduitNetwork network = null;
     for (IConduit conduit : connections) {
-      if(network == null) {
-        network = conduit.getNetwork();
-      } else if(network != conduit.getNetwork()) {
-        return false;
+      AbstractConduitNetwork<?, ?> n = conduit.getNetwork();
+      if(n != null && (network == null || n.getConduits().size() > network.getConduits().size())) {
+        network = n;
       }
     }
     if(network == null) {
@@ -111,7 +112,13 @@ public class ConduitUtil {
     }
     if(con.setNetwork(network)) {
       network.addConduit(con);
-      network.notifyNetworkOfUpdate();
+      network.notifyConduitOfUpdate(con);
+      for (IConduit conduit : connections) {
+        AbstractConduitNetwork<?, ?> n = conduit.getNetwork();
+        if(n != null && n != network) {
+          network.absorbNetwork(n);
+        }
+      }
       return true;
     }
     return false;
@@ -315,6 +322,79 @@ public class ConduitUtil {
     return result;
   }
 
+  /**
+   * Writes the conduits of a bundle as a byte array of type IDs from
+   * {@link ConduitTypeRegister} plus a list of the conduits' own tags. Types
+   * without an ID are followed by their class name in a separate list.
+   */
+  public static void writeConduitsToNBT(Collection<? extends IConduit> conduits, NBTTagCompound nbtRoot) {
+    byte[] types = new byte[conduits.size()];
+    NBTTagList conduitTags = new NBTTagList();
+    NBTTagList typeNames = null;
+    int i = 0;
+    for (IConduit conduit : conduits) {
+      int id = ConduitTypeRegister.getId(conduit);
+      types[i++] = (byte) id;
+      if(id == ConduitTypeRegister.UNREGISTERED) {
+        if(typeNames == null) {
+          typeNames = new NBTTagList();
+        }
+        typeNames.appendTag(new NBTTagString(conduit.getClass().getCanonicalName()));
+      }
+      NBTTagCompound conduitBody = new NBTTagCompound();
+      conduit.writeToNBT(conduitBody);
+      conduitTags.appendTag(conduitBody);
+    }
+    nbtRoot.setByteArray("conduitTypes", types);
+    nbtRoot.setTag("conduits", conduitTags);
+    if(typeNames != null) {
+      nbtRoot.setTag("conduitTypeNames", typeNames);
+    }
+  }
+
+  /**
+   * Reads conduits written by {@link #writeConduitsToNBT}, or the older
+   * layout of one {@link #writeToNBT} compound per conduit.
+   */
+  public static List<IConduit> readConduitsFromNBT(NBTTagCompound nbtRoot, short nbtVersion) {
+    List<IConduit> result = new ArrayList<IConduit>();
+    NBTTagList conduitTags = (NBTTagList) nbtRoot.getTag("conduits");
+    if(conduitTags == null) {
+      return result;
+    }
+    if(!nbtRoot.hasKey("conduitTypes")) {
+      for (int i = 0; i < conduitTags.tagCount(); i++) {
+        IConduit conduit = readConduitFromNBT(conduitTags.getCompoundTagAt(i), nbtVersion);
+        if(conduit != null) {
+          result.add(conduit);
+        }
+      }
+      return result;
+    }
+
+    byte[] types = nbtRoot.getByteArray("conduitTypes");
+    NBTTagList typeNames = (NBTTagList) nbtRoot.getTag("conduitTypeNames");
+    int nameIndex = 0;
+    for (int i = 0; i < types.length && i < conduitTags.tagCount(); i++) {
+      int id = types[i] & 0xFF;
+      String typeName;
+      if(id == ConduitTypeRegister.UNREGISTERED) {
+        typeName = typeNames == null ? null : typeNames.getStringTagAt(nameIndex++);
+      } else {
+        typeName = ConduitTypeRegister.getTypeName(id);
+      }
+      if(typeName == null || typeName.isEmpty()) {
+        Log.warn("ConduitUtil.readConduitsFromNBT: Skipping conduit with unknown type id " + id);
+        continue;
+      }
+      IConduit conduit = createConduit(typeName, conduitTags.getCompoundTagAt(i), nbtVersion);
+      if(conduit != null) {
+        result.add(conduit);
+      }
+    }
+    return result;
+  }
+
   public static void writeToNBT(IConduit conduit, NBTTagCompound conduitRoot) {
     if(conduit == null) {
       return;
@@ -333,22 +413,20 @@ public class ConduitUtil {
     if(typeName == null || conduitBody == null) {
       return null;
     }
-    if ((typeName.contains("conduit.me") && !MEUtil.isMEEnabled()) || typeName.contains("conduit.gas") && !GasUtil.isGasConduitEnabled()) {
-      return null;
-    }
     if (nbtVersion == 0 && "crazypants.enderio.conduit.liquid.LiquidConduit".equals(typeName)) {
       Log.debug("ConduitUtil.readConduitFromNBT: Converted pre 0.7.3 fluid conduit to advanced fluid conduit.");
       typeName = "crazypants.enderio.conduit.liquid.AdvancedLiquidConduit";
     }
-    IConduit result;
-    try {
-      result = (IConduit) Class.forName(typeName).newInstance();
-    } catch (Exception e) {
-      throw new RuntimeException("Could not create an instance of the conduit with name: " + typeName, e);
+    return createConduit(typeName, conduitBody, nbtVersion);
+  }
+
+  private static IConduit createConduit(String typeName, NBTTagCompound conduitBody, short nbtVersion) {
+    if(!ConduitTypeRegister.isTypeEnabled(typeName)) {
+      return null;
     }
+    IConduit result = ConduitTypeRegister.createConduit(typeName);
     result.readFromNBT(conduitBody, nbtVersion);
     return result;
-
   }
 
   public static boolean isRedstoneControlModeMet(IConduitBundle bundle, RedstoneControlMode mode, DyeColor col) {
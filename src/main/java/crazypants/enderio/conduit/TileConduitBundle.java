@@ -19,7 +19,6 @@ import mods.immibis.microblocks.api.PartType;
 import net.minecraft.block.Block;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NBTTagCompound;
-import net.minecraft.nbt.NBTTagList;
 import net.minecraft.network.NetworkManager;
 import net.minecraft.network.Packet;
 import net.minecraft.network.play.server.S35PacketUpdateTileEntity;
@@ -57,7 +56,8 @@ import crazypants.enderio.config.Config;
 
 public class TileConduitBundle extends TileEntityEio implements IConduitBundle {
 
-  public static final short NBT_VERSION = 1;
+  // 2: conduits stored with type IDs from ConduitTypeRegister
+  public static final short NBT_VERSION = 2;
 
   private final List<IConduit> conduits = new ArrayList<IConduit>();
 
@@ -107,13 +107,7 @@ public class TileConduitBundle extends TileEntityEio implements IConduitBundle {
 
   @Override
   public void writeCustomNBT(NBTTagCompound nbtRoot) {
-    NBTTagList conduitTags = new NBTTagList();
-    for (IConduit conduit : conduits) {
-      NBTTagCompound conduitRoot = new NBTTagCompound();
-      ConduitUtil.writeToNBT(conduit, conduitRoot);
-      conduitTags.appendTag(conduitRoot);
-    }
-    nbtRoot.setTag("conduits", conduitTags);
+    ConduitUtil.writeConduitsToNBT(conduits, nbtRoot);
     if(facadeId != null) {
       nbtRoot.setString("facadeId", Block.blockRegistry.getNameForObject(facadeId));
       nbtRoot.setString("facadeType", facadeType.name());
@@ -134,16 +128,9 @@ public class TileConduitBundle extends TileEntityEio implements IConduitBundle {
 
     conduits.clear();
     cachedCollidables.clear();
-    NBTTagList conduitTags = (NBTTagList) nbtRoot.getTag("conduits");
-    if(conduitTags != null) {
-      for (int i = 0; i < conduitTags.tagCount(); i++) {
-        NBTTagCompound conduitTag = conduitTags.getCompoundTagAt(i);
-        IConduit conduit = ConduitUtil.readConduitFromNBT(conduitTag, nbtVersion);
-        if(conduit != null) {
-          conduit.setBundle(this);
-          conduits.add(conduit);
-        }
-      }
+    for (IConduit conduit : ConduitUtil.readConduitsFromNBT(nbtRoot, nbtVersion)) {
+      conduit.setBundle(this);
+      conduits.add(conduit);
     }
     String fs = nbtRoot.getString("facadeId");
     if(fs == null || "null".equals(fs)) {
@@ -0,0 +1,69 @@
+package crazypants.enderio.conduit.item;
+
+import net.minecraft.inventory.ISidedInventory;
+import net.minecraft.item.ItemStack;
+
+import crazypants.enderio.conduit.item.filter.ItemKeySet;
+
+/**
+ * Keeps an {@link ItemKeySet} of the kinds of items in the slots of an
+ * inventory that are accessible from one side. Refreshing compares each slot
+ * with the copy seen last time and only re-keys the slots that changed kind,
+ * so stack size changes cost nothing.
+ */
+public class InventoryFingerprint {
+
+  private final ItemKeySet keys = new ItemKeySet();
+  private int[] slots = new int[0];
+  private ItemStack[] seen = new ItemStack[0];
+
+  public ItemKeySet getKeys() {
+    return keys;
+  }
+
+  public void refresh(ISidedInventory inv, int side) {
+    int[] accessible = inv.getAccessibleSlotsFromSide(side);
+    if(accessible == null) {
+      accessible = new int[0];
+    }
+    if(!sameSlots(accessible)) {
+      clear();
+      slots = accessible.clone();
+      seen = new ItemStack[slots.length];
+    }
+    for (int i = 0; i < slots.length; i++) {
+      ItemStack stack = inv.getStackInSlot(slots[i]);
+      if(!isSameKind(seen[i], stack)) {
+        keys.remove(seen[i]);
+        seen[i] = stack == null ? null : stack.copy();
+        keys.add(seen[i]);
+      }
+    }
+  }
+
+  public void clear() {
+    keys.clear();
+    slots = new int[0];
+    seen = new ItemStack[0];
+  }
+
+  private boolean sameSlots(int[] accessible) {
+    if(accessible.length != slots.length) {
+      return false;
+    }
+    for (int i = 0; i < slots.length; i++) {
+      if(accessible[i] != slots[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean isSameKind(ItemStack a, ItemStack b) {
+    if(a == null || b == null) {
+      return a == b;
+    }
+    return a.getItem() == b.getItem() && a.getItemDamage() == b.getItemDamage() && ItemStack.areItemStackTagsEqual(a, b);
+  }
+
+}
@@ -7,6 +7,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 
+import net.minecraft.block.Block;
 import net.minecraft.client.renderer.texture.IIconRegister;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.inventory.IInventory;
@@ -270,7 +271,7 @@ public class ItemConduit extends AbstractConduit implements IItemConduit {
   public void setInputFilter(ForgeDirection dir, IItemFilter filter) {
     inputFilters.put(dir, filter);
     if(network != null) {
-      network.routesChanged();
+      network.routesChanged(this, dir);
     }
     setClientStateDirty();
   }
@@ -422,7 +423,7 @@ public class ItemConduit extends AbstractConduit implements IItemConduit {
   public void setInputColor(ForgeDirection dir, DyeColor col) {
     inputColors.put(dir, col);
     if(network != null) {
-      network.routesChanged();
+      network.routesChanged(this, dir);
     }
     setClientStateDirty();
     collidablesDirty = true;
@@ -482,6 +483,16 @@ public class ItemConduit extends AbstractConduit implements IItemConduit {
     return null;
   }
 
+  @Override
+  public boolean onNeighborBlockChange(Block block) {
+    // Also reached via onNeighborChange when an adjacent inventory is marked
+    // dirty, so sleeping inventories get checked again straight away
+    if(network != null) {
+      network.inventoriesChanged(this);
+    }
+    return super.onNeighborBlockChange(block);
+  }
+
   @Override
   public void externalConnectionRemoved(ForgeDirection direction) {
     externalConnections.remove(direction);
@@ -521,7 +532,7 @@ public class ItemConduit extends AbstractConduit implements IItemConduit {
       selfFeed.put(dir, enabled);
     }
     if(network != null) {
-      network.routesChanged();
+      network.routesChanged(this, dir);
     }
   }
 
@@ -542,7 +553,7 @@ public class ItemConduit extends AbstractConduit implements IItemConduit {
       roundRobin.put(dir, enabled);
     }
     if(network != null) {
-      network.routesChanged();
+      network.routesChanged(this, dir);
     }
   }
 
@@ -1,7 +1,10 @@
 package crazypants.enderio.conduit.item;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -15,6 +18,9 @@ import com.enderio.core.common.util.BlockCoord;
 import crazypants.enderio.conduit.AbstractConduitNetwork;
 import crazypants.enderio.conduit.item.NetworkedInventory.Target;
 import crazypants.enderio.conduit.item.filter.IItemFilter;
+import crazypants.enderio.conduit.profiler.ConduitNetworkProfiler;
+import crazypants.enderio.conduit.profiler.ProfilerEntry;
+import crazypants.enderio.config.Config;
 import crazypants.enderio.machine.invpanel.server.InventoryDatabaseServer;
 
 public class ItemConduitNetwork extends AbstractConduitNetwork<IItemConduit, IItemConduit> {
@@ -24,6 +30,13 @@ public class ItemConduitNetwork extends AbstractConduitNetwork<IItemConduit, IIt
 
   final Map<BlockCoord, IItemConduit> conMap = new HashMap<BlockCoord, IItemConduit>();
 
+  // (conduit, direction) -> inventory, indexed by direction ordinal
+  private final Map<IItemConduit, NetworkedInventory[]> conInvMap = new IdentityHashMap<IItemConduit, NetworkedInventory[]>();
+
+  // Conduit hop distances from a source conduit to every reachable conduit.
+  // Computed on demand and only discarded when the conduit graph changes.
+  private final Map<BlockCoord, Map<BlockCoord, Integer>> routeCache = new HashMap<BlockCoord, Map<BlockCoord, Integer>>();
+
   private boolean requiresSort = true;
 
   private boolean doingSend = false;
@@ -32,6 +45,13 @@ public class ItemConduitNetwork extends AbstractConduitNetwork<IItemConduit, IIt
 
   private InventoryDatabaseServer database;
 
+  // Slot checks left for extraction this tick, shared by all inventories
+  int slotChecksRemaining;
+
+  // Where to start ticking inventories so a spent budget doesn't always
+  // starve the same ones
+  private int nextTickIndex;
+
   public ItemConduitNetwork() {
     super(IItemConduit.class, IItemConduit.class);
   }
@@ -40,6 +60,7 @@ public class ItemConduitNetwork extends AbstractConduitNetwork<IItemConduit, IIt
   public void addConduit(IItemConduit con) {
     super.addConduit(con);
     conMap.put(con.getLocation(), con);
+    routeCache.clear();
 
     TileEntity te = con.getBundle().getEntity();
     if(te != null) {
@@ -57,16 +78,23 @@ public class ItemConduitNetwork extends AbstractConduitNetwork<IItemConduit, IIt
     NetworkedInventory inv = new NetworkedInventory(this, externalInventory, itemConduit, direction, bc);
     inventories.add(inv);
     getOrCreate(bc).add(inv);
+    NetworkedInventory[] conInvs = conInvMap.get(itemConduit);
+    if(conInvs == null) {
+      conInvs = new NetworkedInventory[ForgeDirection.VALID_DIRECTIONS.length];
+      conInvMap.put(itemConduit, conInvs);
+    }
+    if(conInvs[direction.ordinal()] == null) {
+      conInvs[direction.ordinal()] = inv;
+    }
     requiresSort = true;
   }
-  
+
   public NetworkedInventory getInventory(IItemConduit conduit, ForgeDirection dir) {
-    for(NetworkedInventory inv : inventories) {
-      if(inv.con == conduit && inv.conDir == dir) {
-        return inv;
-      }
+    NetworkedInventory[] conInvs = conInvMap.get(conduit);
+    if(conInvs == null || dir == null || dir.ordinal() >= conInvs.length) {
+      return null;
     }
-    return null;
+    return conInvs[dir.ordinal()];
   }
 
   public List<NetworkedInventory> getInventoryPanelSources() {
@@ -101,15 +129,74 @@ public class ItemConduitNetwork extends AbstractConduitNetwork<IItemConduit, IIt
     if(remove != null) {
       invs.remove(remove);
       inventories.remove(remove);
+      NetworkedInventory[] conInvs = conInvMap.get(remove.con);
+      if(conInvs != null && conInvs[remove.conDir.ordinal()] == remove) {
+        conInvs[remove.conDir.ordinal()] = null;
+        for (NetworkedInventory ni : inventories) {
+          if(ni.con == remove.con && ni.conDir == remove.conDir) {
+            conInvs[remove.conDir.ordinal()] = ni;
+            break;
+          }
+        }
+      }
       requiresSort = true;
     }
 
   }
 
+  /**
+   * Something that affects which targets are valid for every source has
+   * changed, e.g. an output filter, colour or priority. All sources are
+   * re-sorted but cached distances are kept.
+   */
   public void routesChanged() {
     requiresSort = true;
   }
 
+  /**
+   * Only the target list of the inventory extracted from the given side of
+   * the conduit is affected, e.g. by a change to its input colour.
+   */
+  public void routesChanged(IItemConduit con, ForgeDirection dir) {
+    NetworkedInventory inv = getInventory(con, dir);
+    if(inv != null) {
+      inv.requiresSort = true;
+    }
+  }
+
+  /**
+   * Returns the number of conduit hops from the given conduit to each conduit
+   * reachable from it. The result is cached until the network topology
+   * changes.
+   */
+  Map<BlockCoord, Integer> getRouteDistances(IItemConduit from) {
+    BlockCoord start = from.getLocation();
+    Map<BlockCoord, Integer> res = routeCache.get(start);
+    if(res != null) {
+      return res;
+    }
+    res = new HashMap<BlockCoord, Integer>();
+    res.put(start, 0);
+    Deque<BlockCoord> toVisit = new ArrayDeque<BlockCoord>();
+    toVisit.add(start);
+    while (!toVisit.isEmpty()) {
+      BlockCoord bc = toVisit.poll();
+      IItemConduit con = conMap.get(bc);
+      if(con != null) {
+        int distance = res.get(bc) + 1;
+        for (ForgeDirection dir : con.getConduitConnections()) {
+          BlockCoord next = bc.getLocation(dir);
+          if(!res.containsKey(next) && conMap.containsKey(next)) {
+            res.put(next, distance);
+            toVisit.add(next);
+          }
+        }
+      }
+    }
+    routeCache.put(start, res);
+    return res;
+  }
+
   public void inventoryPanelSourcesChanged() {
     changeCount++;
   }
@@ -118,13 +205,20 @@ public class ItemConduitNetwork extends AbstractConduitNetwork<IItemConduit, IIt
     return changeCount;
   }
 
-  public InventoryDatabaseServer getDatabase() {
-    check: {
-      if(database == null) {
+  /**
+   * Returns the database of this network. If the network has none yet and the
+   * given database lost its network it is taken over, so a rebuilt network
+   * keeps the items it already knows about.
+   */
+  public InventoryDatabaseServer getDatabase(InventoryDatabaseServer previous) {
+    if(database == null) {
+      if(previous != null && previous.adoptNetwork(this)) {
+        database = previous;
+      } else {
         database = new InventoryDatabaseServer(this);
-      } else if(database.isCurrent()) {
-        break check;
       }
+    }
+    if(!database.isCurrent()) {
       database.updateNetworkSources();
     }
     return database;
@@ -133,8 +227,9 @@ public class ItemConduitNetwork extends AbstractConduitNetwork<IItemConduit, IIt
   @Override
   public void destroyNetwork() {
     super.destroyNetwork();
+    routeCache.clear();
     if(database != null) {
-      database.resetDatabase();
+      database.networkDestroyed();
       database = null;
     }
   }
@@ -205,14 +300,62 @@ public class ItemConduitNetwork extends AbstractConduitNetwork<IItemConduit, IIt
     return result;
   }
 
+  /**
+   * Wakes all inventories connected to the given conduit.
+   */
+  public void inventoriesChanged(IItemConduit con) {
+    NetworkedInventory[] conInvs = conInvMap.get(con);
+    if(conInvs != null) {
+      for (NetworkedInventory inv : conInvs) {
+        if(inv != null) {
+          inv.wake();
+          if(database != null) {
+            database.inventoryChanged(inv);
+          }
+        }
+      }
+    }
+  }
+
+  @Override
+  public void addProfiledEndpoints(List<ProfilerEntry> entries) {
+    for (NetworkedInventory ni : inventories) {
+      entries.add(ni.getProfilerEntry());
+    }
+  }
+
   @Override
   public void doNetworkTick() {
     for (NetworkedInventory ni : inventories) {
-      if(requiresSort) {
+      if(requiresSort || ni.requiresSort) {
         ni.updateInsertOrder();
       }
-      ni.onTick();
     }
+
+    slotChecksRemaining = Config.itemConduitMaxSlotChecksPerNetworkTick;
+    int numInvs = inventories.size();
+    if(nextTickIndex >= numInvs) {
+      nextTickIndex = 0;
+    }
+    int startIndex = nextTickIndex;
+    boolean profiling = ConduitNetworkProfiler.isEnabled();
+    for (int i = 0; i < numInvs && i < inventories.size(); i++) {
+      int index = (startIndex + i) % inventories.size();
+      NetworkedInventory ni = inventories.get(index);
+      if(profiling) {
+        long start = System.nanoTime();
+        ni.onTick();
+        ni.getTickStats().addTime(System.nanoTime() - start);
+      } else {
+        ni.onTick();
+      }
+      if(slotChecksRemaining <= 0) {
+        // Budget spent, the rest get first go next tick
+        nextTickIndex = index + 1;
+        break;
+      }
+    }
+
     if(requiresSort) {
       requiresSort = false;
       changeCount++;
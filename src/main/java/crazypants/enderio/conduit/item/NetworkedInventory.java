@@ -2,7 +2,6 @@ package crazypants.enderio.conduit.item;
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -21,6 +20,9 @@ import com.enderio.core.common.util.ItemUtil;
 import com.enderio.core.common.util.RoundRobinIterator;
 
 import crazypants.enderio.conduit.ConnectionMode;
+import crazypants.enderio.conduit.profiler.ConduitNetworkProfiler;
+import crazypants.enderio.conduit.profiler.ProfilerEntry;
+import crazypants.enderio.conduit.profiler.TickStats;
 import crazypants.enderio.conduit.item.filter.IItemFilter;
 import crazypants.enderio.config.Config;
 import crazypants.enderio.machine.invpanel.TileInventoryPanel;
@@ -38,8 +40,18 @@ public class NetworkedInventory {
 
   private int extractFromSlot = -1;
 
+  // Set when only this source's target list needs rebuilding
+  boolean requiresSort = false;
+
   int tickDeficit;
 
+  private static final int MIN_IDLE_SLEEP = 20;
+
+  // Ticks to sleep once extraction has failed, doubled for each consecutive
+  // sleep and reset whenever something is extracted or the inventory changes
+  private int idleSleep = MIN_IDLE_SLEEP;
+  private boolean sleeping = false;
+
   //work around for a vanilla chest changing into a double chest without doing unneeded checks all the time 
   boolean recheckInv = false;
   //Hack for TiC crafting station not working correctly when setting output slot to null
@@ -50,6 +62,11 @@ public class NetworkedInventory {
   World world;
   ItemConduitNetwork network;
 
+  private TickStats tickStats;
+
+  private InventoryFingerprint fingerprint;
+  private long fingerprintTick = -1;
+
   NetworkedInventory(ItemConduitNetwork network, IInventory inv, IItemConduit con, ForgeDirection conDir, BlockCoord location) {
     this.network = network;
     inventorySide = conDir.getOpposite().ordinal();
@@ -94,6 +111,18 @@ public class NetworkedInventory {
     return mode == ConnectionMode.OUTPUT || mode == ConnectionMode.IN_OUT;
   }
 
+  TickStats getTickStats() {
+    if(tickStats == null) {
+      tickStats = new TickStats();
+    }
+    return tickStats;
+  }
+
+  ProfilerEntry getProfilerEntry() {
+    String name = "Inventory " + conDir + " of item conduit";
+    return new ProfilerEntry(name, world.provider.dimensionId, location, getTickStats());
+  }
+
   boolean isInventoryPanel() {
     return inventoryPanel;
   }
@@ -109,14 +138,30 @@ public class NetworkedInventory {
   public void onTick() {
     if(tickDeficit > 0 || !canExtract() || !con.isExtractionRedstoneConditionMet(conDir)) {
       //do nothing     
+    } else if(network.slotChecksRemaining <= 0) {
+      // out of budget for this tick, try again next tick
+      return;
     } else {
       transferItems();
     }
 
     tickDeficit--;
     if(tickDeficit < -1) {
-      //Sleep for a second before checking again.
-      tickDeficit = 20;
+      //Sleep before checking again, backing off while there's nothing to do
+      tickDeficit = idleSleep;
+      idleSleep = Math.min(idleSleep * 2, Math.max(MIN_IDLE_SLEEP, Config.itemConduitMaxIdleSleepTicks));
+      sleeping = true;
+    }
+  }
+
+  /**
+   * Called when the inventory may have changed, cutting short any idle sleep.
+   */
+  void wake() {
+    idleSleep = MIN_IDLE_SLEEP;
+    if(sleeping) {
+      sleeping = false;
+      tickDeficit = 0;
     }
   }
 
@@ -156,7 +201,9 @@ public class NetworkedInventory {
 
     int slot = -1;
     int slotChecksPerTick = Math.min(numSlots, ItemConduitNetwork.MAX_SLOT_CHECK_PER_TICK);
+    slotChecksPerTick = Math.min(slotChecksPerTick, network.slotChecksRemaining);
     for (int i = 0; i < slotChecksPerTick; i++) {
+      network.slotChecksRemaining--;
       int index = nextSlot(numSlots);
       slot = slotIndices[index];
       ItemStack item = getInventory().getStackInSlot(slot);
@@ -200,6 +247,10 @@ public class NetworkedInventory {
   }
 
   public void itemExtracted(int slot, int numInserted) {
+    if(ConduitNetworkProfiler.isEnabled()) {
+      getTickStats().addMoved(numInserted);
+      network.getTickStats().addMoved(numInserted);
+    }
     ItemStack curStack = getInventory().getStackInSlot(slot);
     if(curStack != null) {
       if(ticHack) {
@@ -219,6 +270,8 @@ public class NetworkedInventory {
     }
     con.itemsExtracted(numInserted, slot);
     tickDeficit = Math.round(numInserted * con.getTickTimePerItem(conDir));
+    idleSleep = MIN_IDLE_SLEEP;
+    sleeping = false;
   }
 
   int insertIntoTargets(ItemStack toExtract) {
@@ -285,6 +338,7 @@ public class NetworkedInventory {
   }
 
   void updateInsertOrder() {
+    requiresSort = false;
     sendPriority.clear();
     if(!canExtract()) {
       return;
@@ -308,67 +362,20 @@ public class NetworkedInventory {
       Collections.sort(sendPriority);
     } else {
       if(!result.isEmpty()) {
-        Map<BlockCoord, Integer> visited = new HashMap<BlockCoord, Integer>();
-        List<BlockCoord> steps = new ArrayList<BlockCoord>();
-        steps.add(con.getLocation());
-        calculateDistances(result, visited, steps, 0);
-
-        sendPriority.addAll(result);
-
-        Collections.sort(sendPriority);
-      }
-    }
-
-  }
-
-  private void calculateDistances(List<Target> targets, Map<BlockCoord, Integer> visited, List<BlockCoord> steps, int distance) {
-    if(steps == null || steps.isEmpty()) {
-      return;
-    }
-
-    ArrayList<BlockCoord> nextSteps = new ArrayList<BlockCoord>();
-    for (BlockCoord bc : steps) {
-      IItemConduit con = network.conMap.get(bc);
-      if(con != null) {
-        for (ForgeDirection dir : con.getExternalConnections()) {
-          Target target = getTarget(targets, con, dir);
-          if(target != null && target.distance > distance) {
+        Map<BlockCoord, Integer> distances = network.getRouteDistances(con);
+        for (Target target : result) {
+          Integer distance = distances.get(target.inv.con.getLocation());
+          if(distance != null) {
             target.distance = distance;
           }
         }
 
-        if(!visited.containsKey(bc)) {
-          visited.put(bc, distance);
-        } else {
-          int prevDist = visited.get(bc);
-          if(prevDist <= distance) {
-            continue;
-          }
-          visited.put(bc, distance);
-        }
+        sendPriority.addAll(result);
 
-        for (ForgeDirection dir : con.getConduitConnections()) {
-          nextSteps.add(bc.getLocation(dir));
-        }
+        Collections.sort(sendPriority);
       }
     }
-    calculateDistances(targets, visited, nextSteps, distance + 1);
-  }
 
-  private Target getTarget(List<Target> targets, IItemConduit con, ForgeDirection dir) {
-    if(targets == null || con == null || con.getLocation() == null) {
-      return null;
-    }
-    for (Target target : targets) {
-      BlockCoord targetConLoc = null;
-      if(target != null && target.inv != null && target.inv.con != null) {
-        targetConLoc = target.inv.con.getLocation();
-      }
-      if(targetConLoc != null && target.inv.conDir == dir && targetConLoc.equals(con.getLocation())) {
-        return target;
-      }
-    }
-    return null;
   }
 
   private int distanceTo(NetworkedInventory other) {
@@ -379,6 +386,30 @@ public class NetworkedInventory {
     return inv;
   }
 
+  public BlockCoord getLocation() {
+    return location;
+  }
+
+  public TileEntity getTileEntity() {
+    return world.getTileEntity(location.x, location.y, location.z);
+  }
+
+  /**
+   * The kinds of items in the accessible slots of this inventory, refreshed at
+   * most once per tick however often it is queried.
+   */
+  public InventoryFingerprint getFingerprint() {
+    if(fingerprint == null) {
+      fingerprint = new InventoryFingerprint();
+    }
+    long tick = world.getTotalWorldTime();
+    if(tick != fingerprintTick) {
+      fingerprintTick = tick;
+      fingerprint.refresh(getInventoryRecheck(), inventorySide);
+    }
+    return fingerprint;
+  }
+
   public ISidedInventory getInventoryRecheck() {
     if(recheckInv) {
       updateInventory();
@@ -10,11 +10,9 @@ import java.util.ArrayList;
 import java.util.List;
 
 import net.minecraft.inventory.IInventory;
-import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.nbt.NBTTagList;
-import net.minecraftforge.oredict.OreDictionary;
 
 import com.enderio.core.client.gui.widget.GhostSlot;
 import com.enderio.core.common.network.NetworkUtil;
@@ -33,6 +31,9 @@ public class ExistingItemFilter implements IItemFilter {
 
   List<ItemStack> snapshot = null;
 
+  // index over snapshot, rebuilt lazily whenever the snapshot is replaced
+  private ItemKeySet snapshotKeys;
+
   @Override
   public boolean doesItemPassFilter(NetworkedInventory ni, ItemStack item) {
     if(item == null) {
@@ -41,46 +42,25 @@ public class ExistingItemFilter implements IItemFilter {
     if(snapshot != null) {
       return isStackInSnapshot(item);
     } else if(ni != null) {
-      int[] slots = ni.getInventory().getAccessibleSlotsFromSide(ni.getInventorySide());
-      for (int i = 0; i < slots.length; i++) {
-        ItemStack stack = ni.getInventory().getStackInSlot(i);
-        if(stackEqual(item, stack)) {
-          return true;
-        }
-      }
+      return ni.getFingerprint().getKeys().contains(item, matchMeta, matchNBT, useOreDict);
     }
     return false;
   }
 
   boolean isStackInSnapshot(ItemStack item) {
-    for(ItemStack stack : snapshot) {
-      if(stackEqual(item, stack)) {
-        return true;
-      }
-    }
-    return false;
+    return getSnapshotKeys().contains(item, matchMeta, matchNBT, useOreDict);
   }
 
-  boolean stackEqual(ItemStack toInsert, ItemStack existing) {
-    if(toInsert == null || existing == null) {
-      return false;
-    }
-
-    boolean matched = false;
-    if(useOreDict) {
-      int existingId = OreDictionary.getOreID(existing);
-      matched = existingId != -1 && existingId == OreDictionary.getOreID(toInsert);
-    }
-    if(!matched) {
-      matched = Item.getIdFromItem(toInsert.getItem()) == Item.getIdFromItem(existing.getItem());
-      if(matched && matchMeta) {
-        matched = toInsert.getItemDamage() == existing.getItemDamage();
-      }
-      if(matched && matchNBT) {
-        matched = ItemStack.areItemStackTagsEqual(toInsert, existing);
+  private ItemKeySet getSnapshotKeys() {
+    if(snapshotKeys == null) {
+      snapshotKeys = new ItemKeySet();
+      if(snapshot != null) {
+        for (ItemStack stack : snapshot) {
+          snapshotKeys.add(stack);
+        }
       }
     }
-    return matched;
+    return snapshotKeys;
   }
 
   @Override
@@ -105,44 +85,52 @@ public class ExistingItemFilter implements IItemFilter {
   
   public void setSnapshot(NetworkedInventory ni) {
     snapshot = new ArrayList<ItemStack>();
+    snapshotKeys = null;
     mergeSnapshot(ni);
   }
 
   public void mergeSnapshot(NetworkedInventory ni) {
     if(snapshot == null) {
       snapshot = new ArrayList<ItemStack>();
+      snapshotKeys = null;
     }
     int[] slots = ni.getInventory().getAccessibleSlotsFromSide(ni.getInventorySide());
-    for (int i = 0; i < slots.length; i++) {
-      ItemStack stack = ni.getInventory().getStackInSlot(i);
-      if(stack != null && !isStackInSnapshot(stack)) {
-        snapshot.add(stack);
-      }
+    for (int slot : slots) {
+      addToSnapshot(ni.getInventory().getStackInSlot(slot));
     }
   }
 
   public boolean mergeSnapshot(IInventory inventory) {
     if(snapshot == null) {
       snapshot = new ArrayList<ItemStack>();
+      snapshotKeys = null;
     }
     int size = inventory.getSizeInventory();
     boolean added = false;
     for (int i = 0; i < size; i++) {
-      ItemStack stack = inventory.getStackInSlot(i);
-      if(stack != null && !isStackInSnapshot(stack)) {
-        snapshot.add(stack);
-        added = true;
-      }
+      added |= addToSnapshot(inventory.getStackInSlot(i));
     }
     return added;
   }
 
+  private boolean addToSnapshot(ItemStack stack) {
+    if(stack == null || isStackInSnapshot(stack)) {
+      return false;
+    }
+    // copy, the index must not see later changes to the inventory's stack
+    stack = stack.copy();
+    snapshot.add(stack);
+    getSnapshotKeys().add(stack);
+    return true;
+  }
+
   public List<ItemStack> getSnapshot() {
     return snapshot;
   }
 
   public void setSnapshot(List<ItemStack> snapshot) {
     this.snapshot = snapshot;
+    snapshotKeys = null;
   }
 
   public boolean isMatchMeta() {
@@ -188,6 +176,7 @@ public class ExistingItemFilter implements IItemFilter {
   public void readFromNBT(NBTTagCompound nbtRoot) {
     readSettingsFromNBT(nbtRoot);
     
+    snapshotKeys = null;
     if(nbtRoot.hasKey("snapshot")) {
       snapshot = new ArrayList<ItemStack>();
       NBTTagList itemList = (NBTTagList)nbtRoot.getTag("snapshot");
@@ -259,6 +248,7 @@ public class ExistingItemFilter implements IItemFilter {
   public void readFromByteBuf(ByteBuf buf) {
     NBTTagCompound settingsTag = NetworkUtil.readNBTTagCompound(buf);
     readSettingsFromNBT(settingsTag);
+    snapshotKeys = null;
     int numItems = buf.readInt();
     if(numItems == 0) {
       snapshot = null;
@@ -7,17 +7,14 @@ import crazypants.enderio.conduit.gui.item.ItemConduitFilterContainer;
 import crazypants.enderio.conduit.item.IItemConduit;
 import io.netty.buffer.ByteBuf;
 
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.inventory.IInventory;
-import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NBTBase;
 import net.minecraft.nbt.NBTTagCompound;
-import net.minecraftforge.oredict.OreDictionary;
 
 import com.enderio.core.client.gui.widget.GhostSlot;
 import com.enderio.core.common.network.NetworkUtil;
@@ -47,7 +44,7 @@ public class ItemFilter implements IInventory, IItemFilter {
 
   ItemStack[] items;
 
-  final List<int[]> oreIds;
+  private ItemMatcher matcher;
 
   private boolean isAdvanced; 
 
@@ -62,10 +59,6 @@ public class ItemFilter implements IInventory, IItemFilter {
   private ItemFilter(int numItems, boolean isAdvanced) {
     this.isAdvanced = isAdvanced;
     items = new ItemStack[numItems];
-    oreIds = new ArrayList<int[]>(numItems);
-    for(int i=0;i<numItems;i++) {
-      oreIds.add(null);
-    }
   }
 
   @Override
@@ -90,81 +83,18 @@ public class ItemFilter implements IInventory, IItemFilter {
     if(item == null) {
       return false;
     }
-    boolean doFuzzy = false;
-    boolean fuzzyValue = false;
-    if(fuzzyMode != FuzzyMode.DISABLED && item.getItem().isDamageable()) {
-      doFuzzy = true;
-      fuzzyValue = fuzzyMode.compare(item);
-    }
-    boolean matched = false;
-    int i = 0;
-    for (ItemStack it : items) {
-      if(it != null && Item.getIdFromItem(item.getItem()) == Item.getIdFromItem(it.getItem())) {
-        matched = true;
-        boolean fuzzyOk = doFuzzy && fuzzyMode.compare(it) == fuzzyValue;
-        if(matchMeta && !fuzzyOk && item.getItemDamage() != it.getItemDamage()) {
-          matched = false;
-        } else if(matchNBT && !isNBTMatch(item, it)) {
-          matched = false;
-        }        
-      }
-      if(!matched && useOreDict && isOreDicMatch(i, item)) {
-        matched = true;
-      }
-      if(matched) {
-        break;
-      }
-      i++;
-    }
-    return matched;
+    return getMatcher().matches(item);
   }
 
-  private boolean isOreDicMatch(int filterItemIndex, ItemStack item) {
-    int[] ids1 = getCachedIds(filterItemIndex);
-    if(ids1 == null || ids1.length == 0) {
-      return false;
-    }
-    int[] ids2 = OreDictionary.getOreIDs(item);
-    if(ids2 == null || ids2.length == 0) {
-      return false;
-    }
-    for(int id1 : ids1) {
-      for(int id2 : ids2) {
-        if(id1 == id2) {
-          return true;
-        }
+  private ItemMatcher getMatcher() {
+    if(matcher == null) {
+      ItemMatcher res = new ItemMatcher(matchMeta, matchNBT, useOreDict, fuzzyMode);
+      for (ItemStack it : items) {
+        res.addStack(it);
       }
-    }    
-    return false;
-  }
-  
-  private boolean isNBTMatch(ItemStack filter, ItemStack item)
-  {
-    if (filter.stackTagCompound == null && item.stackTagCompound == null) return true;
-    if (filter.stackTagCompound == null || item.stackTagCompound == null) return false;
-    if (!filter.getTagCompound().hasKey("GEN")) return filter.stackTagCompound.equals(item.stackTagCompound);
-    NBTTagCompound filterTag = (NBTTagCompound) filter.getTagCompound().copy();
-    NBTTagCompound itemTag = (NBTTagCompound) item.getTagCompound().copy();
-    filterTag.removeTag("GEN");
-    itemTag.removeTag("GEN");
-    return filterTag.equals(itemTag);
-  }
-
-  private int[] getCachedIds(int filterItemIndex) {   
-    int[] res = oreIds.get(filterItemIndex);
-    if(res == null) {
-      ItemStack item = items[filterItemIndex];
-      if(item == null) {
-        res = new int[0];
-      } else {
-        res = OreDictionary.getOreIDs(item);
-        if(res == null) {
-          res = new int[0];
-        }
-      }
-      oreIds.set(filterItemIndex, res);
+      matcher = res;
     }
-    return res;
+    return matcher;
   }
 
   @Override
@@ -191,6 +121,7 @@ public class ItemFilter implements IInventory, IItemFilter {
 
   public void setMatchMeta(boolean matchMeta) {
     this.matchMeta = matchMeta;
+    matcher = null;
   }
 
   public boolean isMatchNBT() {
@@ -199,6 +130,7 @@ public class ItemFilter implements IInventory, IItemFilter {
 
   public void setMatchNBT(boolean matchNbt) {
     matchNBT = matchNbt;
+    matcher = null;
   }
 
   public boolean isUseOreDict() {
@@ -207,6 +139,7 @@ public class ItemFilter implements IInventory, IItemFilter {
 
   public void setUseOreDict(boolean useOreDict) {
     this.useOreDict = useOreDict;
+    matcher = null;
   }
 
   @Override
@@ -224,6 +157,7 @@ public class ItemFilter implements IInventory, IItemFilter {
 
   public void setFuzzyMode(FuzzyMode fuzzyMode) {
     this.fuzzyMode = fuzzyMode;
+    matcher = null;
   }
 
   @Override
@@ -269,10 +203,7 @@ public class ItemFilter implements IInventory, IItemFilter {
 
     int numItems = isAdvanced ? 10 : 5;
     items = new ItemStack[numItems];
-    oreIds.clear();
-    for(int i=0;i<numItems;i++) {
-      oreIds.add(null);
-    }
+    matcher = null;
     for (int i = 0; i < numItems; i++) {      
       NBTBase tag = nbtRoot.getTag("item" + i);
       if(tag instanceof NBTTagCompound) {
@@ -311,7 +242,7 @@ public class ItemFilter implements IInventory, IItemFilter {
 
   @Override
   public ItemStack decrStackSize(int fromSlot, int amount) {
-    oreIds.set(fromSlot, null);
+    matcher = null;
     ItemStack item = items[fromSlot];
     items[fromSlot] = null;
     if(item == null) {
@@ -334,7 +265,7 @@ public class ItemFilter implements IInventory, IItemFilter {
     } else {
       items[i] = null;
     }
-    oreIds.set(i, null);
+    matcher = null;
   }
 
   @Override
@@ -432,6 +363,7 @@ public class ItemFilter implements IInventory, IItemFilter {
         stack.stackSize = 1;
       }
       items[slot] = stack;
+      matcher = null;
       cb.run();
     }
 
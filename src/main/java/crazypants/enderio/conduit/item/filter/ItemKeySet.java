@@ -0,0 +1,141 @@
+package crazypants.enderio.conduit.item.filter;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraftforge.oredict.OreDictionary;
+
+/**
+ * Counted set of the kinds of items held somewhere. Every stack is recorded
+ * under each combination of item, meta and NBT plus its ore ID, so a lookup
+ * with any mix of match settings is a single hash lookup.
+ */
+public class ItemKeySet {
+
+  private final Map<Key, int[]> counts = new HashMap<Key, int[]>();
+  private final Map<Integer, int[]> oreCounts = new HashMap<Integer, int[]>();
+
+  public void add(ItemStack stack) {
+    if(stack == null || stack.getItem() == null) {
+      return;
+    }
+    int id = Item.getIdFromItem(stack.getItem());
+    int meta = stack.getItemDamage();
+    NBTTagCompound tag = stack.stackTagCompound;
+    increment(counts, new Key(id, false, 0, false, null), 1);
+    increment(counts, new Key(id, true, meta, false, null), 1);
+    increment(counts, new Key(id, false, 0, true, tag), 1);
+    increment(counts, new Key(id, true, meta, true, tag), 1);
+    int oreId = OreDictionary.getOreID(stack);
+    if(oreId != -1) {
+      increment(oreCounts, oreId, 1);
+    }
+  }
+
+  public void remove(ItemStack stack) {
+    if(stack == null || stack.getItem() == null) {
+      return;
+    }
+    int id = Item.getIdFromItem(stack.getItem());
+    int meta = stack.getItemDamage();
+    NBTTagCompound tag = stack.stackTagCompound;
+    increment(counts, new Key(id, false, 0, false, null), -1);
+    increment(counts, new Key(id, true, meta, false, null), -1);
+    increment(counts, new Key(id, false, 0, true, tag), -1);
+    increment(counts, new Key(id, true, meta, true, tag), -1);
+    int oreId = OreDictionary.getOreID(stack);
+    if(oreId != -1) {
+      increment(oreCounts, oreId, -1);
+    }
+  }
+
+  public void clear() {
+    counts.clear();
+    oreCounts.clear();
+  }
+
+  public boolean isEmpty() {
+    return counts.isEmpty();
+  }
+
+  /**
+   * Checks if a stack of the same kind has been added, using the same rules as
+   * the existing item filter: either a shared ore ID, or the same item with
+   * meta and NBT compared as requested.
+   */
+  public boolean contains(ItemStack stack, boolean matchMeta, boolean matchNBT, boolean useOreDict) {
+    if(stack == null || stack.getItem() == null) {
+      return false;
+    }
+    if(useOreDict) {
+      int oreId = OreDictionary.getOreID(stack);
+      if(oreId != -1 && oreCounts.containsKey(oreId)) {
+        return true;
+      }
+    }
+    int id = Item.getIdFromItem(stack.getItem());
+    Key key = new Key(id, matchMeta, matchMeta ? stack.getItemDamage() : 0, matchNBT, matchNBT ? stack.stackTagCompound : null);
+    return counts.containsKey(key);
+  }
+
+  private static <K> void increment(Map<K, int[]> map, K key, int delta) {
+    int[] count = map.get(key);
+    if(count == null) {
+      if(delta <= 0) {
+        return;
+      }
+      count = new int[1];
+      map.put(key, count);
+    }
+    count[0] += delta;
+    if(count[0] <= 0) {
+      map.remove(key);
+    }
+  }
+
+  private static final class Key {
+
+    final int id;
+    final boolean hasMeta;
+    final int meta;
+    final boolean hasTag;
+    final NBTTagCompound tag;
+    final int hash;
+
+    Key(int id, boolean hasMeta, int meta, boolean hasTag, NBTTagCompound tag) {
+      this.id = id;
+      this.hasMeta = hasMeta;
+      this.meta = meta;
+      this.hasTag = hasTag;
+      this.tag = tag;
+      int h = id;
+      h = 31 * h + (hasMeta ? meta + 1 : 0);
+      h = 31 * h + (hasTag ? (tag == null ? 1 : tag.hashCode()) : 0);
+      hash = h;
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if(this == obj) {
+        return true;
+      }
+      if(!(obj instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) obj;
+      if(id != other.id || hasMeta != other.hasMeta || meta != other.meta || hasTag != other.hasTag) {
+        return false;
+      }
+      return tag == null ? other.tag == null : tag.equals(other.tag);
+    }
+  }
+
+}
@@ -0,0 +1,183 @@
+package crazypants.enderio.conduit.item.filter;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraftforge.oredict.OreDictionary;
+import cpw.mods.fml.common.registry.GameRegistry;
+import cpw.mods.fml.common.registry.GameRegistry.UniqueIdentifier;
+
+/**
+ * Lookup structure compiled from a filter's settings. Filters build one when
+ * first used and drop it whenever they are changed, so a match is a lookup by
+ * item ID instead of a walk over every configured stack.
+ */
+public class ItemMatcher {
+
+  private final boolean matchMeta;
+  private final boolean matchNBT;
+  private final boolean useOreDict;
+  private final FuzzyMode fuzzyMode;
+
+  /** Item ID and meta of stacks that can be matched without looking at NBT */
+  private final Set<Long> exactKeys = new HashSet<Long>();
+  private final Map<Integer, List<Entry>> byItem = new HashMap<Integer, List<Entry>>();
+  private final BitSet oreIds = new BitSet();
+
+  private Set<String> mods;
+  private BitSet modChecked;
+  private BitSet modMatched;
+
+  public ItemMatcher(boolean matchMeta, boolean matchNBT, boolean useOreDict, FuzzyMode fuzzyMode) {
+    this.matchMeta = matchMeta;
+    this.matchNBT = matchNBT;
+    this.useOreDict = useOreDict;
+    this.fuzzyMode = fuzzyMode;
+  }
+
+  public void addStack(ItemStack stack) {
+    if(stack == null || stack.getItem() == null) {
+      return;
+    }
+    int id = Item.getIdFromItem(stack.getItem());
+    List<Entry> entries = byItem.get(id);
+    if(entries == null) {
+      entries = new ArrayList<Entry>(1);
+      byItem.put(id, entries);
+    }
+    entries.add(new Entry(stack));
+    if(!matchNBT || stack.stackTagCompound == null) {
+      exactKeys.add(key(id, stack.getItemDamage()));
+    }
+    if(useOreDict) {
+      int[] ids = OreDictionary.getOreIDs(stack);
+      if(ids != null) {
+        for (int oreId : ids) {
+          if(oreId >= 0) {
+            oreIds.set(oreId);
+          }
+        }
+      }
+    }
+  }
+
+  public void addMod(String modId) {
+    if(modId == null) {
+      return;
+    }
+    if(mods == null) {
+      mods = new HashSet<String>();
+      modChecked = new BitSet();
+      modMatched = new BitSet();
+    }
+    mods.add(modId);
+  }
+
+  public boolean matches(ItemStack item) {
+    if(item == null || item.getItem() == null) {
+      return false;
+    }
+    int id = Item.getIdFromItem(item.getItem());
+    List<Entry> entries = byItem.get(id);
+    if(entries != null) {
+      if(matchMeta && (!matchNBT || item.stackTagCompound == null) && exactKeys.contains(key(id, item.getItemDamage()))) {
+        return true;
+      }
+      boolean doFuzzy = fuzzyMode != FuzzyMode.DISABLED && item.getItem().isDamageable();
+      boolean fuzzyValue = doFuzzy && fuzzyMode.compare(item);
+      for (Entry entry : entries) {
+        if(entry.matches(item, doFuzzy, fuzzyValue)) {
+          return true;
+        }
+      }
+    }
+    if(mods != null && isModMatch(id, item.getItem())) {
+      return true;
+    }
+    return !oreIds.isEmpty() && isOreDictMatch(item);
+  }
+
+  private boolean isModMatch(int id, Item item) {
+    if(id < 0) {
+      return false;
+    }
+    if(!modChecked.get(id)) {
+      UniqueIdentifier ui = GameRegistry.findUniqueIdentifierFor(item);
+      if(ui != null && ui.modId != null && mods.contains(ui.modId)) {
+        modMatched.set(id);
+      }
+      modChecked.set(id);
+    }
+    return modMatched.get(id);
+  }
+
+  private boolean isOreDictMatch(ItemStack item) {
+    int[] ids = OreDictionary.getOreIDs(item);
+    if(ids == null) {
+      return false;
+    }
+    for (int oreId : ids) {
+      if(oreId >= 0 && oreIds.get(oreId)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static long key(int id, int meta) {
+    return ((long) id << 32) | (meta & 0xFFFFFFFFL);
+  }
+
+  private class Entry {
+
+    final int meta;
+    final boolean fuzzyBucket;
+    final NBTTagCompound tag;
+    /** The filter tag without the "GEN" key, compared when the item has one */
+    final NBTTagCompound genericTag;
+
+    Entry(ItemStack stack) {
+      meta = stack.getItemDamage();
+      fuzzyBucket = fuzzyMode != FuzzyMode.DISABLED && fuzzyMode.compare(stack);
+      tag = stack.stackTagCompound;
+      if(tag != null && tag.hasKey("GEN")) {
+        genericTag = (NBTTagCompound) tag.copy();
+        genericTag.removeTag("GEN");
+      } else {
+        genericTag = tag;
+      }
+    }
+
+    boolean matches(ItemStack item, boolean doFuzzy, boolean fuzzyValue) {
+      boolean fuzzyOk = doFuzzy && fuzzyBucket == fuzzyValue;
+      if(matchMeta && !fuzzyOk && item.getItemDamage() != meta) {
+        return false;
+      }
+      return !matchNBT || isNBTMatch(item);
+    }
+
+    private boolean isNBTMatch(ItemStack item) {
+      if(tag == null && item.stackTagCompound == null) {
+        return true;
+      }
+      if(tag == null || item.stackTagCompound == null) {
+        return false;
+      }
+      if(!item.stackTagCompound.hasKey("GEN")) {
+        return item.stackTagCompound.equals(tag);
+      }
+      NBTTagCompound itemTag = (NBTTagCompound) item.stackTagCompound.copy();
+      itemTag.removeTag("GEN");
+      return itemTag.equals(genericTag);
+    }
+  }
+
+}
@@ -24,6 +24,8 @@ public class ModItemFilter implements IItemFilter {
 
   private final String[] mods = new String[3];
 
+  private ItemMatcher matcher;
+
   public String setMod(int index, ItemStack itemStack) {
     if(index < 0 || index >= mods.length) {
       return null;
@@ -52,6 +54,7 @@ public class ModItemFilter implements IItemFilter {
       return;
     }
     mods[index] = mod;
+    matcher = null;
   }
 
   public String getModAt(int index) {
@@ -63,23 +66,18 @@ public class ModItemFilter implements IItemFilter {
 
   @Override
   public boolean doesItemPassFilter(NetworkedInventory inv, ItemStack item) {
-    if(item == null || item.getItem() == null) {
-      return false;
-    }
-    UniqueIdentifier ui = GameRegistry.findUniqueIdentifierFor(item.getItem());
-    if(ui == null) {
-      return false;
-    }
-    String targetMod = ui.modId;
-    if(targetMod == null) {
-      return false;
-    }
-    for (String mod : mods) {
-      if(targetMod.equals(mod)) {
-        return true;
+    return getMatcher().matches(item);
+  }
+
+  private ItemMatcher getMatcher() {
+    if(matcher == null) {
+      ItemMatcher res = new ItemMatcher(false, false, false, FuzzyMode.DISABLED);
+      for (String mod : mods) {
+        res.addMod(mod);
       }
+      matcher = res;
     }
-    return false;
+    return matcher;
   }
 
   @Override
@@ -122,6 +120,7 @@ public class ModItemFilter implements IItemFilter {
         mods[i] = mod;
       }
     }
+    matcher = null;
   }
 
   @Override
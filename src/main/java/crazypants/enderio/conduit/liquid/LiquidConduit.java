@@ -75,6 +75,9 @@ public class LiquidConduit extends AbstractTankConduit {
 
   private int currentPushToken;
 
+  // Connected fluid conduits indexed by direction, looked up on first use
+  private LiquidConduit[] neighbours;
+
   // -----------------------------
 
   public static final int MAX_EXTRACT_PER_TICK = Config.fluidConduitExtractRate;
@@ -220,7 +223,11 @@ public class LiquidConduit extends AbstractTankConduit {
     if(doPush) {
       return pushLiquid(from, resource, doFill, pushToken);
     } else {
-      return tank.fill(resource, doFill);
+      int res = tank.fill(resource, doFill);
+      if(doFill && res > 0) {
+        network.levelChanged(this);
+      }
+      return res;
     }
   }
 
@@ -256,13 +263,16 @@ public class LiquidConduit extends AbstractTankConduit {
     int filledLocal = tank.fill(toPush, doPush);
     toPush.amount -= filledLocal;
     pushed += filledLocal;
+    if(doPush && filledLocal > 0) {
+      network.levelChanged(this);
+    }
 
     do {
       if(dir != from && canOutputToDir(dir) && !autoExtractForDir(dir)) {
         if(getConduitConnections().contains(dir)) {
-          ILiquidConduit conduitCon = getFluidConduit(dir);
+          LiquidConduit conduitCon = getNeighbours()[dir.ordinal()];
           if(conduitCon != null) {
-            int toCon = ((LiquidConduit) conduitCon).pushLiquid(dir.getOpposite(), toPush, doPush, token);
+            int toCon = conduitCon.pushLiquid(dir.getOpposite(), toPush, doPush, token);
             toPush.amount -= toCon;
             pushed += toCon;
           }
@@ -289,12 +299,42 @@ public class LiquidConduit extends AbstractTankConduit {
     return ConduitUtil.getConduit(ent.getWorldObj(), ent, dir, ILiquidConduit.class);
   }
 
+  void clearNeighbours() {
+    neighbours = null;
+  }
+
+  LiquidConduit[] getNeighbours() {
+    if(neighbours == null) {
+      LiquidConduit[] res = new LiquidConduit[ForgeDirection.VALID_DIRECTIONS.length];
+      for (ForgeDirection dir : getConduitConnections()) {
+        ILiquidConduit con = getFluidConduit(dir);
+        if(con instanceof LiquidConduit) {
+          res[dir.ordinal()] = (LiquidConduit) con;
+        }
+      }
+      neighbours = res;
+    }
+    return neighbours;
+  }
+
+  /**
+   * The neighbours if they have already been looked up, otherwise null. Unlike
+   * {@link #getNeighbours()} this never reads the world.
+   */
+  LiquidConduit[] getCachedNeighbours() {
+    return neighbours;
+  }
+
   @Override
   public FluidStack drain(ForgeDirection from, int maxDrain, boolean doDrain) {
     if(getConnectionMode(from) == ConnectionMode.INPUT || getConnectionMode(from) == ConnectionMode.DISABLED) {
       return null;
     }
-    return tank.drain(maxDrain, doDrain);
+    FluidStack res = tank.drain(maxDrain, doDrain);
+    if(doDrain && res != null && res.amount > 0 && network != null) {
+      network.levelChanged(this);
+    }
+    return res;
   }
 
   @Override
@@ -339,6 +379,10 @@ public class LiquidConduit extends AbstractTankConduit {
   public void connectionsChanged() {
     super.connectionsChanged();
     updateTank();
+    neighbours = null;
+    if(network != null) {
+      network.levelChanged(this);
+    }
   }
 
   @Override
@@ -353,6 +397,7 @@ public class LiquidConduit extends AbstractTankConduit {
 
   @Override
   public boolean setNetwork(AbstractConduitNetwork<?, ?> network) {
+    neighbours = null;
     if(network == null) {
       this.network = null;
       return true;
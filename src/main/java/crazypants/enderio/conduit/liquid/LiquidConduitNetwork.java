@@ -1,7 +1,10 @@
 package crazypants.enderio.conduit.liquid;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Set;
 
@@ -11,7 +14,7 @@ import net.minecraftforge.fluids.IFluidHandler;
 
 import com.enderio.core.common.util.BlockCoord;
 
-import crazypants.enderio.conduit.ConduitUtil;
+import crazypants.enderio.conduit.profiler.ConduitNetworkProfiler;
 
 public class LiquidConduitNetwork extends AbstractTankConduitNetwork<LiquidConduit> {
 
@@ -22,7 +25,28 @@ public class LiquidConduitNetwork extends AbstractTankConduitNetwork<LiquidCondu
   private int ticksEmpty = 0;
 
   private int maxFlowsPerTick = 10;
-  private int lastFlowIndex = 0;
+
+  // Flow steps between checks of the conduits feeding external tanks, which
+  // can make room without the network noticing
+  private static final int RESCAN_INTERVAL = 20;
+  private int flowsSinceRescan = 0;
+
+  // Conduits to flow from next, being those whose level changed since they
+  // last flowed and their neighbours. Settled conduits are not visited.
+  private final Deque<LiquidConduit> active = new ArrayDeque<LiquidConduit>();
+  private final Set<LiquidConduit> activeSet = Collections.newSetFromMap(new IdentityHashMap<LiquidConduit, Boolean>());
+  private final List<FlowAction> actions = new ArrayList<FlowAction>();
+
+  // Left by prepareNetworkTick for doNetworkTick to finish on the server thread
+  private boolean empty = true;
+  private boolean flowThisTick = false;
+  private final List<LiquidConduit> flowed = new ArrayList<LiquidConduit>();
+  private final List<LiquidConduit> unprepared = new ArrayList<LiquidConduit>();
+  private final List<LiquidConduit> changed = new ArrayList<LiquidConduit>();
+
+  // Set when a level changes, so the left over drops are only flushed once
+  // the network has settled again
+  private boolean flushPending = false;
 
   private boolean printFlowTiming = false;
 
@@ -46,14 +70,107 @@ public class LiquidConduitNetwork extends AbstractTankConduitNetwork<LiquidCondu
     inputLocked = false;
   }
 
+  @Override
+  public void addConduit(LiquidConduit con) {
+    super.addConduit(con);
+    // Neighbours that were cached before this conduit was loaded won't know about it
+    for (LiquidConduit neighbour : con.getNeighbours()) {
+      if(neighbour != null) {
+        neighbour.clearNeighbours();
+      }
+    }
+    activate(con);
+  }
+
+  @Override
+  public void destroyNetwork() {
+    super.destroyNetwork();
+    active.clear();
+    activeSet.clear();
+    actions.clear();
+    flowed.clear();
+    unprepared.clear();
+    changed.clear();
+    flowThisTick = false;
+  }
+
+  /**
+   * Called whenever the amount in a conduit's tank changes, so it and its
+   * neighbours are considered on the next flow step.
+   */
+  void levelChanged(LiquidConduit con) {
+    flushPending = true;
+    activate(con);
+    for (LiquidConduit neighbour : con.getNeighbours()) {
+      if(neighbour != null) {
+        activate(neighbour);
+      }
+    }
+  }
+
+  private void activate(LiquidConduit con) {
+    if(con.getNetwork() == this && activeSet.add(con)) {
+      active.add(con);
+    }
+  }
+
+  /**
+   * Works out this tick's flow between our own conduits: the down flow is
+   * applied straight away and the balancing flows are queued as actions.
+   * Nothing here reads the world, so it may run on a worker thread.
+   */
+  @Override
+  public void prepareNetworkTick() {
+    flowThisTick = false;
+    if(conduits.isEmpty()) {
+      return;
+    }
+    empty = isEmpty();
+    if(empty || liquidType == null || liquidType.getFluid() == null) {
+      return;
+    }
+
+    long curTime = conduits.get(0).getBundle().getEntity().getWorldObj().getTotalWorldTime();
+    // 1000 water, 6000 lava
+    int visc = Math.max(1000, liquidType.getFluid().getViscosity());
+    if(curTime % (visc / 500) != 0) {
+      return;
+    }
+    flowThisTick = true;
+
+    if(++flowsSinceRescan >= RESCAN_INTERVAL) {
+      flowsSinceRescan = 0;
+      for (LiquidConduit con : conduits) {
+        if(!con.getExternalConnections().isEmpty() && con.getTank().getFluidAmount() > 0) {
+          activate(con);
+        }
+      }
+    }
+
+    int flows = Math.min(maxFlowsPerTick, active.size());
+    for (int i = 0; i < flows; i++) {
+      LiquidConduit con = active.poll();
+      activeSet.remove(con);
+      LiquidConduit[] neighbours = con.getCachedNeighbours();
+      LiquidConduit downCon = neighbours == null ? null : neighbours[ForgeDirection.DOWN.ordinal()];
+      if(neighbours == null || (downCon != null && downCon.getNetwork() != this)) {
+        // needs the world or another network, so is flowed from in doNetworkTick
+        unprepared.add(con);
+      } else {
+        flowDown(con, downCon);
+        flowBalance(con, neighbours);
+        flowed.add(con);
+      }
+    }
+  }
+
   @Override
   public void doNetworkTick() {
-    List<LiquidConduit> cons = getConduits();
-    if(cons == null || cons.isEmpty()) {
+    if(conduits.isEmpty()) {
       return;
     }
 
-    if(isEmpty()) {
+    if(empty) {
       if(!fluidTypeLocked && liquidType != null) {
         ticksEmpty++;
         if(ticksEmpty > 40) {
@@ -65,18 +182,13 @@ public class LiquidConduitNetwork extends AbstractTankConduitNetwork<LiquidCondu
     }
 
     ticksEmpty = 0;
-    long curTime = cons.get(0).getBundle().getEntity().getWorldObj().getTotalWorldTime();
-
-    // 1000 water, 6000 lava
-    if(liquidType != null && liquidType.getFluid() != null && !isEmpty()) {
-      int visc = Math.max(1000, liquidType.getFluid().getViscosity());
-      if(curTime % (visc / 500) == 0) {
-        long start = System.nanoTime();
-        if(doFlow() && printFlowTiming) {
-          long took = System.nanoTime() - start;
-          double secs = took / 1000000000.0;
-          System.out.println("LiquidConduitNetwork.onUpdateEntity: took " + secs + " secs, " + (secs * 1000) + " millis");
-        }
+    if(flowThisTick) {
+      flowThisTick = false;
+      long start = System.nanoTime();
+      if(doFlow() && printFlowTiming) {
+        long took = System.nanoTime() - start;
+        double secs = took / 1000000000.0;
+        System.out.println("LiquidConduitNetwork.onUpdateEntity: took " + secs + " secs, " + (secs * 1000) + " millis");
       }
     }
   }
@@ -87,6 +199,9 @@ public class LiquidConduitNetwork extends AbstractTankConduitNetwork<LiquidCondu
 
   void outputedToExternal(int filled) {
     outputVolume += filled;
+    if(ConduitNetworkProfiler.isEnabled()) {
+      getTickStats().addMoved(filled);
+    }
   }
 
   int getNextPushToken() {
@@ -94,37 +209,50 @@ public class LiquidConduitNetwork extends AbstractTankConduitNetwork<LiquidCondu
   }
 
   private boolean doFlow() {
-
-    int pushToken = getNextPushToken();
-    List<FlowAction> actions = new ArrayList<FlowAction>();
-    for (int i = 0; i < Math.min(maxFlowsPerTick, conduits.size()); i++) {
-
-      if(lastFlowIndex >= conduits.size()) {
-        lastFlowIndex = 0;
+    if(flowed.isEmpty() && unprepared.isEmpty()) {
+      if(active.isEmpty() && flushPending) {
+        flushPending = false;
+        flushRemainder();
       }
-      flowFrom(conduits.get(lastFlowIndex), actions, pushToken);
-      ++lastFlowIndex;
+      return false;
+    }
 
+    for (LiquidConduit con : flowed) {
+      flowToExternals(con);
+    }
+    for (LiquidConduit con : unprepared) {
+      LiquidConduit[] neighbours = con.getNeighbours();
+      flowDown(con, neighbours[ForgeDirection.DOWN.ordinal()]);
+      flowToExternals(con);
+      flowBalance(con, neighbours);
     }
+    flowed.clear();
+    unprepared.clear();
+
+    for (LiquidConduit con : changed) {
+      levelChanged(con);
+    }
+    changed.clear();
+
     for (FlowAction action : actions) {
-      action.apply();
+      if(action.apply()) {
+        levelChanged(action.from);
+        levelChanged(action.to);
+      }
     }
 
     boolean result = !actions.isEmpty();
+    actions.clear();
+    return result;
+  }
 
-    // Flush any tanks with a tiny bit left
-    List<LiquidConduit> toEmpty = new ArrayList<LiquidConduit>();
+  // Flush any tanks with a tiny bit left
+  private void flushRemainder() {
     for (LiquidConduit con : conduits) {
-      if(con != null && con.getTank().getFluidAmount() < 10) {
-        toEmpty.add(con);
-      } else {
+      if(con.getTank().getFluidAmount() >= 10) {
         //some of the conduits have fluid left in them so don't do the final drain yet
-        return result;
+        return;
       }
-
-    }
-    if(toEmpty.isEmpty()) {
-      return result;
     }
 
     List<LocatedFluidHandler> externals = new ArrayList<LocatedFluidHandler>();
@@ -141,14 +269,12 @@ public class LiquidConduitNetwork extends AbstractTankConduitNetwork<LiquidCondu
       }
     }
     if(externals.isEmpty()) {
-      return result;
+      return;
     }
 
-    for (LiquidConduit con : toEmpty) {
+    for (LiquidConduit con : conduits) {
       drainConduitToNearestExternal(con, externals);
     }
-
-    return result;
   }
 
   @Override
@@ -190,43 +316,42 @@ public class LiquidConduitNetwork extends AbstractTankConduitNetwork<LiquidCondu
     if(closestTank != null) {
       int filled = closestTank.tank.fill(closestTank.dir, toDrain.copy(), true);
       con.getTank().addAmount(-filled);
+      if(filled > 0) {
+        levelChanged(con);
+      }
     }
 
   }
 
-  private void flowFrom(LiquidConduit con, List<FlowAction> actions, int pushPoken) {
-
+  // First flow all we can down, then balance the rest
+  private void flowDown(LiquidConduit con, LiquidConduit downCon) {
     ConduitTank tank = con.getTank();
-    int totalAmount = tank.getFluidAmount();
-    if(totalAmount <= 0) {
+    if(downCon == null || tank.getFluidAmount() <= 0) {
       return;
     }
-
-    int maxFlowVolume = 20;
-
-    // First flow all we can down, then balance the rest
-    if(con.getConduitConnections().contains(ForgeDirection.DOWN)) {
-      BlockCoord loc = con.getLocation().getLocation(ForgeDirection.DOWN);
-      ILiquidConduit dc = ConduitUtil.getConduit(con.getBundle().getEntity().getWorldObj(), loc.x, loc.y, loc.z, ILiquidConduit.class);
-      if(dc instanceof LiquidConduit) {
-        LiquidConduit downCon = (LiquidConduit) dc;
-        int filled = downCon.fill(ForgeDirection.UP, tank.getFluid().copy(), false, false, pushPoken);
-        int actual = filled;
-        actual = Math.min(actual, tank.getFluidAmount());
-        actual = Math.min(actual, downCon.getTank().getAvailableSpace());
-        tank.addAmount(-actual);
-        downCon.getTank().addAmount(actual);
-      }
+    int filled = downCon.fill(ForgeDirection.UP, tank.getFluid().copy(), false, false, -1);
+    int actual = filled;
+    actual = Math.min(actual, tank.getFluidAmount());
+    actual = Math.min(actual, downCon.getTank().getAvailableSpace());
+    if(actual > 0) {
+      tank.addAmount(-actual);
+      downCon.getTank().addAmount(actual);
+      // levelChanged may have to look up neighbours, so is left to doFlow
+      changed.add(con);
+      changed.add(downCon);
     }
+  }
 
-    totalAmount = tank.getFluidAmount();
+  private void flowToExternals(LiquidConduit con) {
+    ConduitTank tank = con.getTank();
+    int totalAmount = tank.getFluidAmount();
     if(totalAmount <= 0) {
       return;
     }
+    int maxFlowVolume = 20;
     FluidStack available = tank.getFluid();
     int totalRequested = 0;
     int numRequests = 0;
-    // Then to external connections
     for (ForgeDirection dir : con.getExternalConnections()) {
       if(con.canOutputToDir(dir)) {
         IFluidHandler extCon = con.getExternalHandler(dir);
@@ -246,6 +371,7 @@ public class LiquidConduitNetwork extends AbstractTankConduitNetwork<LiquidCondu
 
       FluidStack requestSource = available.copy();
       requestSource.amount = amountPerRequest;
+      boolean outputed = false;
       for (ForgeDirection dir : con.getExternalConnections()) {
         if(con.canOutputToDir(dir)) {
           IFluidHandler extCon = con.getExternalHandler(dir);
@@ -254,25 +380,31 @@ public class LiquidConduitNetwork extends AbstractTankConduitNetwork<LiquidCondu
             if(amount > 0) {
               outputedToExternal(amount);
               tank.addAmount(-amount);
+              outputed = true;
             }
           }
         }
       }
+      if(outputed) {
+        levelChanged(con);
+      }
     }
+  }
 
-    totalAmount = tank.getFluidAmount();
+  // Queues actions evening out the level with lower neighbours in this network.
+  // They are clamped when applied, so anything output to external tanks in the
+  // meantime is allowed for.
+  private void flowBalance(LiquidConduit con, LiquidConduit[] neighbours) {
+    ConduitTank tank = con.getTank();
+    int totalAmount = tank.getFluidAmount();
     if(totalAmount <= 0) {
       return;
     }
+    int maxFlowVolume = 20;
     int totalCapacity = tank.getCapacity();
 
-    BlockCoord loc = con.getLocation();
-    Collection<ILiquidConduit> connections =
-        ConduitUtil.getConnectedConduits(con.getBundle().getEntity().getWorldObj(),
-            loc.x, loc.y, loc.z, ILiquidConduit.class);
     int numTargets = 0;
-    for (ILiquidConduit n : connections) {
-      LiquidConduit neighbour = (LiquidConduit) n;
+    for (LiquidConduit neighbour : neighbours) {
       if(canFlowTo(con, neighbour)) { // can only flow within same network
         totalAmount += neighbour.getTank().getFluidAmount();
         totalCapacity += neighbour.getTank().getCapacity();
@@ -288,8 +420,7 @@ public class LiquidConduitNetwork extends AbstractTankConduitNetwork<LiquidCondu
       return; // dont bother with transfers of less than a thousands of a bucket
     }
 
-    for (ILiquidConduit n : connections) {
-      LiquidConduit neigbour = (LiquidConduit) n;
+    for (LiquidConduit neigbour : neighbours) {
       if(canFlowTo(con, neigbour)) { // can only flow within same network
         flowVolume = (int) Math.floor((targetRatio - neigbour.getTank().getFilledRatio()) * neigbour.getTank().getCapacity());
         if(flowVolume != 0) {
@@ -334,20 +465,22 @@ public class LiquidConduitNetwork extends AbstractTankConduitNetwork<LiquidCondu
       }
     }
 
-    void apply() {
-      if(amount != 0) {
-
-        // don't take more than it has
-        int actual = Math.min(amount, from.getTank().getFluidAmount());
-        // and don't add more than it can take
-        actual = Math.min(actual, to.getTank().getAvailableSpace());
-
-        if(from != null && to != null) {
-          from.getTank().addAmount(-actual);
-          to.getTank().addAmount(actual);
-        }
+    boolean apply() {
+      if(amount == 0 || from == null || to == null) {
+        return false;
+      }
 
+      // don't take more than it has
+      int actual = Math.min(amount, from.getTank().getFluidAmount());
+      // and don't add more than it can take
+      actual = Math.min(actual, to.getTank().getAvailableSpace());
+      if(actual <= 0) {
+        return false;
       }
+
+      from.getTank().addAmount(-actual);
+      to.getTank().addAmount(actual);
+      return true;
     }
 
   }
@@ -31,8 +31,9 @@ public interface IPowerConduit extends IConduit, IInternalPowerHandler, IExtract
 
   IIcon getTextureForOutputMode();
 
-  //called from NetworkPowerManager
-  void onTick();
+  //called from NetworkPowerManager, returns and clears any energy held by
+  //the conduit itself rather than the network buffer
+  int takeBufferedEnergy();
   
   boolean getConnectionsDirty();
 
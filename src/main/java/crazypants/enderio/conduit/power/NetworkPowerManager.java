@@ -1,8 +1,10 @@
 package crazypants.enderio.conduit.power;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Map;
@@ -14,6 +16,7 @@ import net.minecraftforge.common.util.ForgeDirection;
 import crazypants.enderio.Log;
 import crazypants.enderio.conduit.ConnectionMode;
 import crazypants.enderio.conduit.power.PowerConduitNetwork.ReceptorEntry;
+import crazypants.enderio.conduit.profiler.ConduitNetworkProfiler;
 import crazypants.enderio.config.Config;
 import crazypants.enderio.power.IPowerInterface;
 import crazypants.enderio.power.IPowerStorage;
@@ -22,9 +25,14 @@ public class NetworkPowerManager {
 
   private final PowerConduitNetwork network;
 
+  // The network's energy is held here as a single buffer. A conduit's share
+  // is only worked out when something asks for it, see getEnergyStoredFor.
   int maxEnergyStored;
   int energyStored;
 
+  // Conduits that have received energy since the last tick
+  private final Set<IPowerConduit> recievedEnergy = Collections.newSetFromMap(new IdentityHashMap<IPowerConduit, Boolean>());
+
   private int updateRenderTicks = 10;
   private int inactiveTicks = 100;
 
@@ -41,9 +49,39 @@ public class NetworkPowerManager {
 
   private final CapBankSupply capSupply = new CapBankSupply();
 
+  private final World world;
+
   public NetworkPowerManager(PowerConduitNetwork netowrk, World world) {
     network = netowrk;
-    maxEnergyStored = 64;
+    this.world = world;
+    for (IPowerConduit con : network.getConduits()) {
+      conduitAdded(con);
+    }
+  }
+
+  void conduitAdded(IPowerConduit con) {
+    maxEnergyStored += con.getMaxEnergyStored();
+    energyStored += con.takeBufferedEnergy();
+    energyStored = MathHelper.clamp_int(energyStored, 0, maxEnergyStored);
+  }
+
+  void energyRecieved(IPowerConduit con) {
+    recievedEnergy.add(con);
+  }
+
+  /**
+   * Returns the given conduit's share of the network buffer, excluding any
+   * energy it has received this tick.
+   */
+  int getEnergyStoredFor(IPowerConduit con) {
+    if(maxEnergyStored <= 0 || energyStored <= 0) {
+      return 0;
+    }
+    return (int) ((long) con.getMaxEnergyStored() * energyStored / maxEnergyStored);
+  }
+
+  void addEnergy(int amount) {
+    energyStored = MathHelper.clamp_int(energyStored + amount, 0, maxEnergyStored);
   }
 
   public PowerTracker getTracker(IPowerConduit conduit) {
@@ -131,8 +169,9 @@ public class NetworkPowerManager {
 
     checkReceptors();
 
-    // Update our energy stored based on what's in our conduits
-    updateNetorkStorage();
+    // Normally already done in the prepare phase, this picks up anything
+    // pushed into our conduits since
+    poolRecievedEnergy();
     networkPowerTracker.tickStart(energyStored);
 
     capSupply.init();
@@ -141,6 +180,8 @@ public class NetworkPowerManager {
     int numReceptors = receptors.size();
     int available = energyStored + capSupply.canExtract;
     int wasAvailable = available;
+    boolean profiling = ConduitNetworkProfiler.isEnabled();
+    long now = world.getTotalWorldTime();
 
     if(available <= 0 || (receptors.isEmpty() && storageReceptors.isEmpty())) {
       trackerEndTick();
@@ -154,21 +195,30 @@ public class NetworkPowerManager {
         receptorIterator = receptors.listIterator();
       }
       ReceptorEntry r = receptorIterator.next();
-      IPowerInterface pp = r.powerInterface;
-      if(pp != null) {
+      ForgeDirection side = r.direction.getOpposite();
+      if(!r.endpoint.isBackedOff(side, now)) {
         int canOffer = Math.min(r.emmiter.getMaxEnergyExtracted(r.direction), available);
-        int used = pp.recieveEnergy(r.direction.getOpposite(), canOffer);
-        used = Math.max(0, used);
-        trackerSend(r.emmiter, used, false);
-        available -= used;
-        if(available <= 0) {
-          break;
+        if(canOffer > 0) {
+          long start = profiling ? System.nanoTime() : 0;
+          int used = r.endpoint.offer(side, canOffer, now);
+          if(profiling) {
+            r.getTickStats().addTime(System.nanoTime() - start);
+            r.getTickStats().addMoved(used);
+          }
+          trackerSend(r.emmiter, used, false);
+          available -= used;
+          if(available <= 0) {
+            break;
+          }
         }
       }
       appliedCount++;
     }
 
     int used = wasAvailable - available;
+    if(profiling) {
+      network.getTickStats().addMoved(used);
+    }
     // use all the capacator storage first
     energyStored -= used;
 
@@ -193,7 +243,7 @@ public class NetworkPowerManager {
       capSupply.balance();
     }
 
-    distributeStorageToConduits();
+    energyStored = MathHelper.clamp_int(energyStored, 0, maxEnergyStored);
 
     trackerEndTick();
 
@@ -254,9 +304,9 @@ public class NetworkPowerManager {
     return result;
   }
 
-  private void distributeStorageToConduits() {
+  private void distributeStorageToConduits(List<IPowerConduit> conduits) {
     if(maxEnergyStored <= 0 || energyStored <= 0) {
-      for (IPowerConduit con : network.getConduits()) {
+      for (IPowerConduit con : conduits) {
         con.setEnergyStored(0);
       }
       return;
@@ -266,7 +316,7 @@ public class NetworkPowerManager {
     float filledRatio = (float) energyStored / maxEnergyStored;
     int energyLeft = energyStored;
     int given = 0;
-    for (IPowerConduit con : network.getConduits()) {
+    for (IPowerConduit con : conduits) {
       if(energyLeft > 0) {
         // NB: use ceil to ensure we dont through away any energy due to
         // rounding
@@ -287,14 +337,19 @@ public class NetworkPowerManager {
     return energyStored > 0;
   }
 
-  private void updateNetorkStorage() {
-    maxEnergyStored = 0;
-    energyStored = 0;
-    for (IPowerConduit con : network.getConduits()) {
-      maxEnergyStored += con.getMaxEnergyStored();
-      con.onTick();
-      energyStored += con.getEnergyStored();
+  /**
+   * Moves the energy pushed into our conduits into the network buffer. Only
+   * touches the network and its own conduits, so is run in the parallel tick
+   * phase when that is enabled.
+   */
+  void poolRecievedEnergy() {
+    if(recievedEnergy.isEmpty()) {
+      return;
+    }
+    for (IPowerConduit con : recievedEnergy) {
+      energyStored += con.takeBufferedEnergy();
     }
+    recievedEnergy.clear();
     energyStored = MathHelper.clamp_int(energyStored, 0, maxEnergyStored);
   }
 
@@ -309,6 +364,7 @@ public class NetworkPowerManager {
     receptors.clear();
     storageReceptors.clear();
     for (ReceptorEntry rec : network.getPowerReceptors()) {
+      rec.endpoint.resetBackoff();
       if(rec.powerInterface.getDelegate() != null &&
           rec.powerInterface.getDelegate() instanceof IPowerStorage) {
         storageReceptors.add(rec);
@@ -321,7 +377,15 @@ public class NetworkPowerManager {
     receptorsDirty = false;
   }
 
-  void onNetworkDestroyed() {
+  /**
+   * Hands the buffer back to the conduits so it is picked up by whichever
+   * networks they end up in. Must be called once the conduits have been
+   * detached from the network.
+   */
+  void onNetworkDestroyed(List<IPowerConduit> conduits) {
+    poolRecievedEnergy();
+    distributeStorageToConduits(conduits);
+    energyStored = 0;
   }
 
   private static class StarveBuffer {
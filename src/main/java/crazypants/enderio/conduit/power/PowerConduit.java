@@ -41,7 +41,7 @@ import crazypants.enderio.machine.RedstoneControlMode;
 import crazypants.enderio.power.BasicCapacitor;
 import crazypants.enderio.power.ICapacitor;
 import crazypants.enderio.power.IPowerInterface;
-import crazypants.enderio.power.PowerHandlerUtil;
+import crazypants.enderio.power.PowerEndpointCache;
 import crazypants.enderio.tool.ToolUtil;
 
 public class PowerConduit extends AbstractConduit implements IPowerConduit {
@@ -100,6 +100,8 @@ public class PowerConduit extends AbstractConduit implements IPowerConduit {
 
   protected PowerConduitNetwork network;
 
+  // Energy held by the conduit itself: everything while it isn't part of a
+  // network, otherwise only what it has received since the network last ticked
   private int energyStoredRF;
 
   private int subtype;
@@ -216,7 +218,7 @@ public class PowerConduit extends AbstractConduit implements IPowerConduit {
   public void writeToNBT(NBTTagCompound nbtRoot) {
     super.writeToNBT(nbtRoot);
     nbtRoot.setShort("subtype", (short) subtype);
-    nbtRoot.setInteger("energyStoredRF", energyStoredRF);
+    nbtRoot.setInteger("energyStoredRF", getEnergyStored());
 
     for (Entry<ForgeDirection, RedstoneControlMode> entry : rsModes.entrySet()) {
       if(entry.getValue() != null) {
@@ -262,18 +264,35 @@ public class PowerConduit extends AbstractConduit implements IPowerConduit {
     }
   }
 
+  private NetworkPowerManager getPowerManager() {
+    return network == null ? null : network.powerManager;
+  }
+
   @Override
-  public void onTick() {   
+  public int takeBufferedEnergy() {
+    int result = energyStoredRF;
+    energyStoredRF = 0;
+    return result;
   }
 
   @Override
   public int getEnergyStored() {
+    NetworkPowerManager pm = getPowerManager();
+    if(pm != null) {
+      return Math.min(getMaxEnergyStored(), pm.getEnergyStoredFor(this) + energyStoredRF);
+    }
     return energyStoredRF;
   }
 
   @Override
   public void setEnergyStored(int energyStored) {
-    energyStoredRF = MathHelper.clamp_int(energyStored, 0, getMaxEnergyStored());     
+    energyStored = MathHelper.clamp_int(energyStored, 0, getMaxEnergyStored());
+    NetworkPowerManager pm = getPowerManager();
+    if(pm != null) {
+      pm.addEnergy(energyStored - getEnergyStored());
+    } else {
+      energyStoredRF = energyStored;
+    }
   }
 
  
@@ -375,7 +394,11 @@ public class PowerConduit extends AbstractConduit implements IPowerConduit {
     int freeSpace = getMaxEnergyStored() - getEnergyStored();
     int result = (int) Math.min(maxReceive, freeSpace);
     if(!simulate && result > 0) {
-      setEnergyStored(getEnergyStored() + result);      
+      energyStoredRF += result;
+      NetworkPowerManager pm = getPowerManager();
+      if(pm != null) {
+        pm.energyRecieved(this);
+      }
 
       if(getBundle() != null) {
         if(recievedTicks == null) {
@@ -475,7 +498,7 @@ public class PowerConduit extends AbstractConduit implements IPowerConduit {
     if(test instanceof IConduitBundle) {
       return null;
     }
-    return PowerHandlerUtil.create(test);
+    return PowerEndpointCache.getPowerInterface(test);
   }
 
   @Override
@@ -15,7 +15,12 @@ import com.enderio.core.common.util.BlockCoord;
 
 import crazypants.enderio.conduit.AbstractConduitNetwork;
 import crazypants.enderio.conduit.IConduitBundle;
+import crazypants.enderio.conduit.profiler.ConduitNetworkProfiler;
+import crazypants.enderio.conduit.profiler.ProfilerEntry;
+import crazypants.enderio.conduit.profiler.TickStats;
 import crazypants.enderio.power.IPowerInterface;
+import crazypants.enderio.power.PowerEndpoint;
+import crazypants.enderio.power.PowerEndpointCache;
 
 public class PowerConduitNetwork extends AbstractConduitNetwork<IPowerConduit, IPowerConduit> {
 
@@ -41,10 +46,11 @@ public class PowerConduitNetwork extends AbstractConduitNetwork<IPowerConduit, I
     for (IPowerConduit con : conduits) {
       con.setActive(false);
     }
+    List<IPowerConduit> cons = new ArrayList<IPowerConduit>(conduits);
+    super.destroyNetwork();
     if(powerManager != null) {
-      powerManager.onNetworkDestroyed();
+      powerManager.onNetworkDestroyed(cons);
     }
-    super.destroyNetwork();
   }
 
   public NetworkPowerManager getPowerManager() {
@@ -63,6 +69,7 @@ public class PowerConduitNetwork extends AbstractConduitNetwork<IPowerConduit, I
       }
     }
     if(powerManager != null) {
+      powerManager.conduitAdded(con);
       con.setActive(powerManager.isActive());
     }
   }
@@ -75,7 +82,11 @@ public class PowerConduitNetwork extends AbstractConduitNetwork<IPowerConduit, I
     ReceptorKey key = new ReceptorKey(location, direction);
     ReceptorEntry re = powerReceptors.get(key);
     if(re == null) {
-      re = new ReceptorEntry(powerReceptor, location, powerConduit, direction);
+      PowerEndpoint endpoint = PowerEndpointCache.getEndpoint(powerConduit.getBundle().getEntity().getWorldObj(), x, y, z);
+      if(endpoint == null) {
+        return;
+      }
+      re = new ReceptorEntry(endpoint, location, powerConduit, direction);
       powerReceptors.put(key, re);
     }
     if(powerManager != null) {
@@ -101,6 +112,18 @@ public class PowerConduitNetwork extends AbstractConduitNetwork<IPowerConduit, I
     return powerReceptors.values();
   }
 
+  @Override
+  public void addProfiledEndpoints(List<ProfilerEntry> entries) {
+    for (ReceptorEntry r : powerReceptors.values()) {
+      entries.add(new ProfilerEntry("Power receptor", ConduitNetworkProfiler.getDimension(r.emmiter), r.coord, r.getTickStats()));
+    }
+  }
+
+  @Override
+  public void prepareNetworkTick() {
+    powerManager.poolRecievedEnergy();
+  }
+
   @Override
   public void doNetworkTick() {
     powerManager.applyRecievedPower();
@@ -112,15 +135,28 @@ public class PowerConduitNetwork extends AbstractConduitNetwork<IPowerConduit, I
     BlockCoord coord;
     ForgeDirection direction;
 
+    // Shared with anything else feeding the tile, so they all back off
+    // together when it is full
+    PowerEndpoint endpoint;
     IPowerInterface powerInterface;
 
-    public ReceptorEntry(IPowerInterface powerReceptor, BlockCoord coord, IPowerConduit emmiter, ForgeDirection direction) {
-      powerInterface = powerReceptor;
+    private TickStats tickStats;
+
+    public ReceptorEntry(PowerEndpoint endpoint, BlockCoord coord, IPowerConduit emmiter, ForgeDirection direction) {
+      this.endpoint = endpoint;
+      powerInterface = endpoint.getPowerInterface();
       this.coord = coord;
       this.emmiter = emmiter;
       this.direction = direction;
     }
 
+    TickStats getTickStats() {
+      if(tickStats == null) {
+        tickStats = new TickStats();
+      }
+      return tickStats;
+    }
+
   }
 
   private static class ReceptorKey {
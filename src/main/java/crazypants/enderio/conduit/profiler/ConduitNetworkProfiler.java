@@ -0,0 +1,95 @@
+package crazypants.enderio.conduit.profiler;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import net.minecraft.tileentity.TileEntity;
+import crazypants.enderio.conduit.AbstractConduitNetwork;
+import crazypants.enderio.conduit.ConduitNetworkTickHandler;
+import crazypants.enderio.conduit.IConduit;
+
+/**
+ * Collects tick timings for conduit networks and their end points while
+ * enabled. Everything is recorded on the server thread, and nothing is
+ * recorded at all while disabled.
+ */
+public class ConduitNetworkProfiler {
+
+  private static boolean enabled = false;
+
+  private static long tick = 0;
+
+  private static long startTick = 0;
+
+  private static final Comparator<ProfilerEntry> BY_TIME = new Comparator<ProfilerEntry>() {
+    @Override
+    public int compare(ProfilerEntry o1, ProfilerEntry o2) {
+      long t1 = o1.stats.getTotalNanos();
+      long t2 = o2.stats.getTotalNanos();
+      return t1 < t2 ? 1 : (t1 > t2 ? -1 : 0);
+    }
+  };
+
+  public static boolean isEnabled() {
+    return enabled;
+  }
+
+  public static void setEnabled(boolean enable) {
+    if(enable && !enabled) {
+      // Skip a whole window so nothing from an earlier run is reported
+      tick += TickStats.WINDOW;
+      startTick = tick;
+    }
+    enabled = enable;
+  }
+
+  public static long getTick() {
+    return tick;
+  }
+
+  /**
+   * @return the number of ticks recorded since profiling was last started
+   */
+  public static long getTicksProfiled() {
+    return tick - startTick;
+  }
+
+  public static void onServerTick() {
+    tick++;
+  }
+
+  public static List<ProfilerEntry> getTopNetworks(int count) {
+    List<ProfilerEntry> res = new ArrayList<ProfilerEntry>();
+    for (AbstractConduitNetwork<?, ?> network : ConduitNetworkTickHandler.instance.getNetworks()) {
+      List<? extends IConduit> cons = network.getConduits();
+      if(cons.isEmpty()) {
+        continue;
+      }
+      IConduit anchor = cons.get(0);
+      String name = network.getClass().getSimpleName() + " [" + cons.size() + " conduits]";
+      res.add(new ProfilerEntry(name, getDimension(anchor), anchor.getLocation(), network.getTickStats()));
+    }
+    return top(res, count);
+  }
+
+  public static List<ProfilerEntry> getTopEndpoints(int count) {
+    List<ProfilerEntry> res = new ArrayList<ProfilerEntry>();
+    for (AbstractConduitNetwork<?, ?> network : ConduitNetworkTickHandler.instance.getNetworks()) {
+      network.addProfiledEndpoints(res);
+    }
+    return top(res, count);
+  }
+
+  public static int getDimension(IConduit con) {
+    TileEntity te = con.getBundle().getEntity();
+    return te.getWorldObj() == null ? 0 : te.getWorldObj().provider.dimensionId;
+  }
+
+  private static List<ProfilerEntry> top(List<ProfilerEntry> entries, int count) {
+    Collections.sort(entries, BY_TIME);
+    return entries.size() > count ? entries.subList(0, count) : entries;
+  }
+
+}
@@ -0,0 +1,19 @@
+package crazypants.enderio.conduit.profiler;
+
+import com.enderio.core.common.util.BlockCoord;
+
+public class ProfilerEntry {
+
+  public final String name;
+  public final int dimension;
+  public final BlockCoord location;
+  public final TickStats stats;
+
+  public ProfilerEntry(String name, int dimension, BlockCoord location, TickStats stats) {
+    this.name = name;
+    this.dimension = dimension;
+    this.location = location;
+    this.stats = stats;
+  }
+
+}
@@ -0,0 +1,109 @@
+package crazypants.enderio.conduit.profiler;
+
+/**
+ * Rolling per tick totals of time spent, calls made and amount moved, kept in
+ * a ring buffer covering the last {@link #WINDOW} ticks. Buffers are only
+ * allocated and rolled forward when something is recorded, so idle stats cost
+ * next to nothing and reading them changes nothing.
+ */
+public class TickStats {
+
+  public static final int WINDOW = 100;
+
+  private long[] nanos;
+  private int[] calls;
+  private long[] moved;
+
+  private int index;
+  private long lastTick = -1;
+
+  public void addTime(long time) {
+    roll();
+    nanos[index] += time;
+    calls[index]++;
+  }
+
+  public void addMoved(long amount) {
+    roll();
+    moved[index] += amount;
+  }
+
+  public long getTotalNanos() {
+    return sum(nanos);
+  }
+
+  public long getTotalCalls() {
+    if(calls == null) {
+      return 0;
+    }
+    long res = 0;
+    int live = getLiveTicks();
+    for (int i = 0; i < live; i++) {
+      res += calls[(index - i + WINDOW) % WINDOW];
+    }
+    return res;
+  }
+
+  public long getTotalMoved() {
+    return sum(moved);
+  }
+
+  public double getAverageMicrosPerTick() {
+    return getTotalNanos() / 1000.0 / getTicksCovered();
+  }
+
+  public double getAverageMovedPerTick() {
+    return getTotalMoved() / (double) getTicksCovered();
+  }
+
+  // Until a full window has been profiled the totals cover fewer ticks
+  private static long getTicksCovered() {
+    return Math.max(1, Math.min(WINDOW, ConduitNetworkProfiler.getTicksProfiled()));
+  }
+
+  private long sum(long[] values) {
+    if(values == null) {
+      return 0;
+    }
+    long res = 0;
+    int live = getLiveTicks();
+    for (int i = 0; i < live; i++) {
+      res += values[(index - i + WINDOW) % WINDOW];
+    }
+    return res;
+  }
+
+  /**
+   * Number of slots, counting back from the current one, that are still inside
+   * the window. Lets reads skip the ticks a roll would clear without changing
+   * anything.
+   */
+  private int getLiveTicks() {
+    if(lastTick < 0) {
+      return 0;
+    }
+    long age = Math.max(0, ConduitNetworkProfiler.getTick() - lastTick);
+    return (int) (WINDOW - Math.min(WINDOW, age));
+  }
+
+  private void roll() {
+    if(nanos == null) {
+      nanos = new long[WINDOW];
+      calls = new int[WINDOW];
+      moved = new long[WINDOW];
+    }
+    long now = ConduitNetworkProfiler.getTick();
+    if(now == lastTick) {
+      return;
+    }
+    long steps = lastTick < 0 ? WINDOW : Math.min(WINDOW, now - lastTick);
+    for (int i = 0; i < steps; i++) {
+      index = (index + 1) % WINDOW;
+      nanos[index] = 0;
+      calls[index] = 0;
+      moved[index] = 0;
+    }
+    lastTick = now;
+  }
+
+}
@@ -5,7 +5,6 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -236,7 +235,7 @@ public class InsulatedRedstoneConduit extends RedstoneConduit implements IInsula
       Set<Signal> newSignals = getNetworkInputs(dir);
       if(network != null) {
         network.addSignals(newSignals);
-        network.notifyNeigborsOfSignals();
+        network.notifyNeigborsOfSignals(this);
       }
 
     } else {
@@ -247,7 +246,7 @@ public class InsulatedRedstoneConduit extends RedstoneConduit implements IInsula
       onAddedToBundle();
       if(network != null) {
         network.removeSignals(signals);
-        network.notifyNeigborsOfSignals();
+        network.notifyNeigborsOfSignals(this);
       }
 
     }
@@ -304,7 +303,7 @@ public class InsulatedRedstoneConduit extends RedstoneConduit implements IInsula
     if(network != null) {
       network.removeSignals(toRemove);
       network.addSignals(toAdd);
-      network.notifyNeigborsOfSignals();
+      network.notifyNeigborsOfSignals(this);
     }
     setClientStateDirty();
   }
@@ -326,7 +325,7 @@ public class InsulatedRedstoneConduit extends RedstoneConduit implements IInsula
         signalStrengths.remove(dir);
       }
       if(network != null) {
-        network.notifyNeigborsOfSignals();
+        network.notifyNeigborsOfSignals(this);
       }
     }
   }
@@ -395,7 +394,10 @@ public class InsulatedRedstoneConduit extends RedstoneConduit implements IInsula
     if(getConnectionMode(toDirection.getOpposite()) != ConnectionMode.IN_OUT) {
       return 0;
     }
-    return super.isProvidingWeakPower(toDirection);    
+    if(network == null) {
+      return 0;
+    }
+    return network.getSignalStrength(getSignalColor(toDirection.getOpposite()));
   }
 
   @Override
@@ -429,20 +431,7 @@ public class InsulatedRedstoneConduit extends RedstoneConduit implements IInsula
     if(network == null || mode != ConnectionMode.IN_OUT) {
       return Collections.emptySet();
     }
-    Set<Signal> allSigs = network.getSignals();
-    if(allSigs.isEmpty()) {
-      return allSigs;
-    }
-
-    DyeColor col = getSignalColor(side);
-    Set<Signal> result = new HashSet<Signal>();
-    for (Signal signal : allSigs) {
-      if(signal.color == col) {
-        result.add(signal);
-      }
-    }
-
-    return result;
+    return network.getSignals(getSignalColor(side));
   }
 
   @Override
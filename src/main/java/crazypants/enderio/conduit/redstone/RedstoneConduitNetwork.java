@@ -4,6 +4,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 
@@ -12,30 +13,54 @@ import net.minecraft.world.World;
 import net.minecraftforge.common.util.ForgeDirection;
 
 import com.enderio.core.common.util.BlockCoord;
+import com.enderio.core.common.util.DyeColor;
 import com.google.common.collect.Sets;
 
 import crazypants.enderio.EnderIO;
+import crazypants.enderio.Log;
 import crazypants.enderio.conduit.AbstractConduitNetwork;
+import crazypants.enderio.conduit.ConnectionMode;
 import crazypants.enderio.conduit.IConduitBundle;
 
 public class RedstoneConduitNetwork extends AbstractConduitNetwork<IRedstoneConduit, IRedstoneConduit> {
 
+  private static final int NUM_COLORS = DyeColor.values().length;
+  private static final int ALL_COLORS = (1 << NUM_COLORS) - 1;
+
   private final Set<Signal> signals = new HashSet<Signal>();
 
+  // The signals split by colour, with the strongest of each, so outputs can be
+  // looked up without filtering
+  private final List<Set<Signal>> signalsByColor = new ArrayList<Set<Signal>>(NUM_COLORS);
+  private final List<Set<Signal>> signalsByColorView = new ArrayList<Set<Signal>>(NUM_COLORS);
+  private final int[] strengths = new int[NUM_COLORS];
+
+  // Colours whose signals changed since neighbours were last notified, as a
+  // bit mask. Notifications are sent once per tick in doNetworkTick.
+  private int dirtyColors = 0;
+
+  // Conduits whose outputs changed, to have all their neighbours notified
+  private final Set<IRedstoneConduit> dirtyConduits = new LinkedHashSet<IRedstoneConduit>();
+
+  private boolean lastActive = false;
+
   boolean updatingNetwork = false;
 
   private boolean networkEnabled = true;
 
   public RedstoneConduitNetwork() {
     super(IRedstoneConduit.class, IRedstoneConduit.class);
+    for (int i = 0; i < NUM_COLORS; i++) {
+      Set<Signal> sigs = new HashSet<Signal>();
+      signalsByColor.add(sigs);
+      signalsByColorView.add(Collections.unmodifiableSet(sigs));
+    }
   }
 
   @Override
   public void init(IConduitBundle tile, Collection<IRedstoneConduit> connections, World world) {
     super.init(tile, connections, world);
-    updatingNetwork = true;
     notifyNeigborsOfSignals();
-    updatingNetwork = false;
   }
 
   @Override
@@ -45,11 +70,12 @@ public class RedstoneConduitNetwork extends AbstractConduitNetwork<IRedstoneCond
       con.setActive(false);
     }
     // Notify neighbours that all signals have been lost
-    List<Signal> copy = new ArrayList<Signal>(signals);
-    signals.clear();
-    for (Signal s : copy) {
-      notifyNeigborsOfSignalUpdate(s);
-    }
+    int colors = getSignalColors() | dirtyColors;
+    clearSignals();
+    dirtyColors = 0;
+    dirtyConduits.clear();
+    lastActive = false;
+    notifyNeigborsOfSignalUpdate(colors);
     updatingNetwork = false;
     super.destroyNetwork();
   }
@@ -58,15 +84,35 @@ public class RedstoneConduitNetwork extends AbstractConduitNetwork<IRedstoneCond
   public void addConduit(IRedstoneConduit con) {
     updatingNetwork = true;
     super.addConduit(con);
-    Set<Signal> newInputs = con.getNetworkInputs();
-    signals.addAll(newInputs);
-    // Notify existing nodes of new signals
-    for (Signal signal : newInputs) {
-      notifyNeigborsOfSignalUpdate(signal);
+    // Existing nodes are notified of the new signals on the next tick
+    for (Signal signal : con.getNetworkInputs()) {
+      putSignal(signal);
     }
     // and new nodes neighbours of all signals
-    for (Signal signal : signals) {
-      notifyConduitNeighbours(con, signal);
+    notifyConduitNeighbours(con, getSignalColors(), false);
+    updatingNetwork = false;
+  }
+
+  @Override
+  public void doNetworkTick() {
+    if(dirtyColors == 0 && dirtyConduits.isEmpty()) {
+      return;
+    }
+    int colors = dirtyColors;
+    dirtyColors = 0;
+    updatingNetwork = true;
+    if(isSignalActive() != lastActive) {
+      notifyNetworkOfUpdate();
+    }
+    notifyNeigborsOfSignalUpdate(colors);
+    if(!dirtyConduits.isEmpty()) {
+      List<IRedstoneConduit> dirty = new ArrayList<IRedstoneConduit>(dirtyConduits);
+      dirtyConduits.clear();
+      for (IRedstoneConduit con : dirty) {
+        if(containsConduit(con)) {
+          notifyConduitNeighbours(con, ALL_COLORS, true);
+        }
+      }
     }
     updatingNetwork = false;
   }
@@ -79,6 +125,24 @@ public class RedstoneConduitNetwork extends AbstractConduitNetwork<IRedstoneCond
     }
   }
 
+  /**
+   * @return the signals of the given colour, as an unmodifiable live view
+   */
+  public Set<Signal> getSignals(DyeColor color) {
+    if (networkEnabled) {
+      return signalsByColorView.get(color.ordinal());
+    } else {
+      return Collections.emptySet();
+    }
+  }
+
+  /**
+   * @return the strongest signal of the given colour, or 0 if there is none
+   */
+  public int getSignalStrength(DyeColor color) {
+    return networkEnabled ? strengths[color.ordinal()] : 0;
+  }
+
   // Need to disable the network when determining the strength of external
   // signals
   // to avoid feed back looops
@@ -97,11 +161,7 @@ public class RedstoneConduitNetwork extends AbstractConduitNetwork<IRedstoneCond
   }
 
   public void addSignal(Signal signal) {
-    updatingNetwork = true;
-    signals.add(signal);
-    notifyNetworkOfUpdate();
-    notifyNeigborsOfSignalUpdate(signal);
-    updatingNetwork = false;
+    putSignal(signal);
   }
 
   public void removeSignals(Set<Signal> remove) {
@@ -111,36 +171,76 @@ public class RedstoneConduitNetwork extends AbstractConduitNetwork<IRedstoneCond
   }
 
   public void removeSignal(Signal signal) {
-    updatingNetwork = true;
-    signals.remove(signal);
-    notifyNetworkOfUpdate();
-    notifyNeigborsOfSignalUpdate(signal);
-    updatingNetwork = false;
+    if(signals.remove(signal)) {
+      int color = signal.color.ordinal();
+      Set<Signal> sigs = signalsByColor.get(color);
+      sigs.remove(signal);
+      int max = 0;
+      for (Signal s : sigs) {
+        max = Math.max(max, s.strength);
+      }
+      strengths[color] = max;
+      signalsChanged(color);
+    }
   }
 
   public void replaceSignal(Signal oldSig, Signal newSig) {
-    updatingNetwork = true;
-    signals.remove(oldSig);
-    signals.add(newSig);
-    notifyNetworkOfUpdate();
-    notifyNeigborsOfSignalUpdate(newSig);
-    updatingNetwork = false;
+    removeSignal(oldSig);
+    putSignal(newSig);
   }
 
-  @Override
-  public void notifyNetworkOfUpdate() {
-    for (IRedstoneConduit con : conduits) {
-      con.setActive(false);
-      for (Signal s : getSignals()) {
-        if (s.strength > 0) {
-          con.setActive(true);
-          break;
-        }
+  private void putSignal(Signal signal) {
+    if(signals.add(signal)) {
+      int color = signal.color.ordinal();
+      signalsByColor.get(color).add(signal);
+      strengths[color] = Math.max(strengths[color], signal.strength);
+      signalsChanged(color);
+    }
+  }
+
+  private void clearSignals() {
+    signals.clear();
+    for (int i = 0; i < NUM_COLORS; i++) {
+      signalsByColor.get(i).clear();
+      strengths[i] = 0;
+    }
+  }
+
+  private void signalsChanged(int color) {
+    dirtyColors |= 1 << color;
+  }
+
+  private int getSignalColors() {
+    int res = 0;
+    for (int i = 0; i < NUM_COLORS; i++) {
+      if(!signalsByColor.get(i).isEmpty()) {
+        res |= 1 << i;
+      }
+    }
+    return res;
+  }
+
+  private boolean isSignalActive() {
+    for (int strength : strengths) {
+      if(strength > 0) {
+        return true;
       }
     }
+    return false;
+  }
+
+  @Override
+  public void notifyNetworkOfUpdate() {
+    lastActive = isSignalActive();
     super.notifyNetworkOfUpdate();
   }
 
+  @Override
+  public void notifyConduitOfUpdate(IRedstoneConduit con) {
+    con.setActive(networkEnabled && isSignalActive());
+    super.notifyConduitOfUpdate(con);
+  }
+
   @Override
   public String toString() {
     return "RedstoneConduitNetwork [signals=" + signalsString() + ", conduits=" + conduitsString() + "]";
@@ -166,22 +266,43 @@ public class RedstoneConduitNetwork extends AbstractConduitNetwork<IRedstoneCond
     return sb.toString();
   }
 
+  /**
+   * Notifies the neighbours of all signals on the next tick, for when the way
+   * a conduit outputs them has changed.
+   */
   public void notifyNeigborsOfSignals() {
-    for (Signal signal : signals) {
-      notifyNeigborsOfSignalUpdate(signal);
-    }
+    dirtyColors |= getSignalColors();
+  }
+
+  /**
+   * Notifies all the neighbours of the conduit on the next tick, for when the
+   * colour, strength or mode of its outputs changed.
+   */
+  public void notifyNeigborsOfSignals(IRedstoneConduit con) {
+    dirtyConduits.add(con);
   }
 
-  public void notifyNeigborsOfSignalUpdate(Signal signal) {
+  private void notifyNeigborsOfSignalUpdate(int colors) {
+    if(colors == 0) {
+      return;
+    }
     ArrayList<IRedstoneConduit> conduitsCopy = new ArrayList<IRedstoneConduit>(conduits);
     for (IRedstoneConduit con : conduitsCopy) {
-      notifyConduitNeighbours(con, signal);
+      notifyConduitNeighbours(con, colors, false);
     }
   }
 
-  private void notifyConduitNeighbours(IRedstoneConduit con, Signal signal) {
+  /**
+   * Notifies the blocks the conduit outputs any of the given colours to. Plain
+   * conduits output every colour on all sides, insulated ones only the colour
+   * of each connected side, unless allSides is set.
+   */
+  private void notifyConduitNeighbours(IRedstoneConduit con, int colors, boolean allSides) {
+    if(colors == 0) {
+      return;
+    }
     if (con.getBundle() == null) {
-      System.out.println("RedstoneConduitNetwork.notifyNeigborsOfSignalUpdate: NULL BUNDLE!!!!");
+      Log.warn("RedstoneConduitNetwork.notifyConduitNeighbours: Conduit has no bundle");
       return;
     }
     TileEntity te = con.getBundle().getEntity();
@@ -194,12 +315,17 @@ public class RedstoneConduitNetwork extends AbstractConduitNetwork<IRedstoneCond
       return;
     }
 
+    boolean insulated = !allSides && con instanceof IInsulatedRedstoneConduit;
+
     // Done manually to avoid orphaning chunks
     for (ForgeDirection dir : ForgeDirection.VALID_DIRECTIONS) {
+      if (insulated && (con.getConnectionMode(dir) != ConnectionMode.IN_OUT || (colors & (1 << con.getSignalColor(dir).ordinal())) == 0)) {
+        continue;
+      }
       BlockCoord bc2 = bc1.getLocation(dir);
       if (worldObj.blockExists(bc2.x, bc2.y, bc2.z)) {
         worldObj.notifyBlockOfNeighborChange(bc2.x, bc2.y, bc2.z, EnderIO.blockConduitBundle);
-        if (signal != null && bc2.getBlock(worldObj).isNormalCube()) {
+        if (bc2.getBlock(worldObj).isNormalCube()) {
           for (ForgeDirection dir2 : ForgeDirection.VALID_DIRECTIONS) {
             BlockCoord bc3 = bc2.getLocation(dir2);
             if (!bc3.equals(bc1) && worldObj.blockExists(bc3.x, bc3.y, bc3.z)) {
@@ -227,7 +353,7 @@ public class RedstoneConduitNetwork extends AbstractConduitNetwork<IRedstoneCond
       }
       BlockCoord loc = c.getLocation();
       if (world.blockExists(loc.x, loc.y, loc.z)) {
-        this.conduits.add(c);
+        super.addConduit(c);
         c.setNetwork(this);
       }
     }
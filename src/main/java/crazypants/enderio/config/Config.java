@@ -117,6 +117,11 @@ public final class Config {
   public static boolean useSneakRightClickYetaWrench = false;
 
   public static boolean itemConduitUsePhyscialDistance = false;
+  public static int itemConduitMaxIdleSleepTicks = 100;
+  public static int itemConduitMaxSlotChecksPerNetworkTick = 4096;
+
+  public static boolean conduitParallelNetworkTicksEnabled = false;
+  public static int conduitParallelNetworkTickThreads = 0;
 
   public static int enderFluidConduitExtractRate = 200;
   public static int enderFluidConduitMaxIoRate = 800;
@@ -287,6 +292,7 @@ public final class Config {
 
   public static int farmDefaultSize = 3;
   public static boolean farmAxeDamageOnLeafBreak = false;
+  public static int farmTreeHarvestTimeBudgetMs = 5;
   public static float farmToolTakeDamageChance = 1;
   public static boolean disableFarmNotification = false;
   public static boolean farmEssenceBerriesEnabled = true;
@@ -339,6 +345,8 @@ public final class Config {
   public static int capacitorBankTierThreeMaxIoRF = 25000;
   public static int capacitorBankTierThreeMaxStorageRF = 25000000;
 
+  public static int capBankClientSyncIntervalTicks = 5;
+
   public static int poweredSpawnerMinDelayTicks = 200;
   public static int poweredSpawnerMaxDelayTicks = 800;
   public static int poweredSpawnerLevelOnePowerPerTickRF = 160;
@@ -487,6 +495,8 @@ public final class Config {
   public static float inventoryPanelScanCostPerSlot = 0.1f;
   public static float inventoryPanelExtractCostPerItem = 12.0f;
   public static float inventoryPanelExtractCostPerOperation = 32.0f;
+  public static int inventoryPanelSyncIntervalTicks = 10;
+  public static int inventoryPanelScanSlotsPerTick = 9;
 
   
   public static void load(FMLPreInitializationEvent event) {
@@ -574,6 +584,10 @@ public final class Config {
         "The maximum storage for a single tier three capacitor in RF")
         .getInt(capacitorBankTierThreeMaxStorageRF);
 
+    capBankClientSyncIntervalTicks = config.get(sectionPower.name, "capBankClientSyncIntervalTicks", capBankClientSyncIntervalTicks,
+        "Minimum number of ticks between capacitor bank energy updates sent to players viewing a bank.")
+        .getInt(capBankClientSyncIntervalTicks);
+
     powerConduitTierOneRF = config.get(sectionPower.name, "powerConduitTierOneRF", powerConduitTierOneRF, "The maximum IO for the tier 1 power conduit")
         .getInt(powerConduitTierOneRF);
     powerConduitTierTwoRF = config.get(sectionPower.name, "powerConduitTierTwoRF", powerConduitTierTwoRF, "The maximum IO for the tier 2 power conduit")
@@ -707,6 +721,20 @@ public final class Config {
     itemConduitUsePhyscialDistance = config.get(sectionEfficiency.name, "itemConduitUsePhyscialDistance", itemConduitUsePhyscialDistance, "If true, " +
         "'line of sight' distance rather than conduit path distance is used to calculate priorities.")
         .getBoolean(itemConduitUsePhyscialDistance);
+    itemConduitMaxIdleSleepTicks = config.get(sectionEfficiency.name, "itemConduitMaxIdleSleepTicks", itemConduitMaxIdleSleepTicks,
+        "Maximum number of ticks an item conduit will wait between checks of an inventory it has not been able to extract from. " +
+        "The wait doubles after each failed check and is reset when the inventory changes.")
+        .getInt(itemConduitMaxIdleSleepTicks);
+    itemConduitMaxSlotChecksPerNetworkTick = config.get(sectionEfficiency.name, "itemConduitMaxSlotChecksPerNetworkTick", itemConduitMaxSlotChecksPerNetworkTick,
+        "Maximum number of inventory slots a single item conduit network will check for extraction each tick.")
+        .getInt(itemConduitMaxSlotChecksPerNetworkTick);
+    conduitParallelNetworkTicksEnabled = config.get(sectionAdvanced.name, "conduitParallelNetworkTicksEnabled", conduitParallelNetworkTicksEnabled,
+        "If true, power pooling and liquid flow calculations for conduit networks that share no chunks are run on worker threads. "
+            + "Anything that touches the world is still done on the server thread.")
+        .getBoolean(conduitParallelNetworkTicksEnabled);
+    conduitParallelNetworkTickThreads = config.get(sectionAdvanced.name, "conduitParallelNetworkTickThreads", conduitParallelNetworkTickThreads,
+        "Number of worker threads used when conduitParallelNetworkTicksEnabled is true. 0 uses one less than the number of available processors.")
+        .getInt(conduitParallelNetworkTickThreads);
 
     vacuumChestRange = config.get(sectionEfficiency.name, "vacumChestRange", vacuumChestRange, "The range of the vacuum chest").getInt(vacuumChestRange);
 
@@ -1039,6 +1067,8 @@ public final class Config {
 
     farmAxeDamageOnLeafBreak = config.get(sectionFarm.name, "farmAxeDamageOnLeafBreak", farmAxeDamageOnLeafBreak,
         "Should axes in a farm take damage when breaking leaves?").getBoolean(farmAxeDamageOnLeafBreak);
+    farmTreeHarvestTimeBudgetMs = config.get(sectionFarm.name, "farmTreeHarvestTimeBudgetMs", farmTreeHarvestTimeBudgetMs,
+        "The time in milliseconds a farm may spend felling a tree per tick. Larger trees are felled over several ticks.").getInt(farmTreeHarvestTimeBudgetMs);
     farmToolTakeDamageChance = (float) config.get(sectionFarm.name, "farmToolTakeDamageChance", farmToolTakeDamageChance,
         "The chance that a tool in the farm will take damage.").getDouble(farmToolTakeDamageChance);
 
@@ -1309,6 +1339,10 @@ public final class Config {
         "Internal power used per item extracted (not a stack of items)");
     inventoryPanelExtractCostPerOperation = config.getFloat("extractCostPerOperation", sectionInventoryPanel.name, inventoryPanelExtractCostPerOperation, 0.0f,
         10000.0f, "Internal power used per extract operation (independent of stack size)");
+    inventoryPanelSyncIntervalTicks = config.getInt("syncIntervalTicks", sectionInventoryPanel.name, inventoryPanelSyncIntervalTicks, 1, 200,
+        "Number of ticks between sending batched item count changes to open inventory panels.");
+    inventoryPanelScanSlotsPerTick = config.getInt("scanSlotsPerTick", sectionInventoryPanel.name, inventoryPanelScanSlotsPerTick, 1, 10000,
+        "Number of inventory slots the panel database scans per tick. Inventories that reported a change are scanned first.");
   }
 
   public static void init() {
@@ -0,0 +1,118 @@
+package crazypants.enderio.entity;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import net.minecraft.command.IEntitySelector;
+import net.minecraft.entity.Entity;
+import net.minecraft.util.AxisAlignedBB;
+import net.minecraft.util.MathHelper;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+
+/**
+ * Shared replacement for {@link World#selectEntitiesWithinAABB} for machines
+ * that scan large areas every tick. The entities of each chunk section are
+ * collected once per tick and entity class, then every query only filters
+ * those lists against its own bounds. Dead entities are never returned.
+ */
+public class EntityQueryCache {
+
+  private static final Map<World, EntityQueryCache> caches = new WeakHashMap<World, EntityQueryCache>();
+
+  private static synchronized EntityQueryCache get(World world) {
+    EntityQueryCache res = caches.get(world);
+    if(res == null) {
+      res = new EntityQueryCache(world);
+      caches.put(world, res);
+    }
+    return res;
+  }
+
+  public static <T extends Entity> List<T> getEntitiesWithinAABB(World world, Class<T> clazz, AxisAlignedBB bounds) {
+    return selectEntitiesWithinAABB(world, clazz, bounds, null);
+  }
+
+  public static <T extends Entity> List<T> selectEntitiesWithinAABB(World world, Class<T> clazz, AxisAlignedBB bounds, IEntitySelector selector) {
+    return get(world).select(clazz, bounds, selector);
+  }
+
+  private final World world;
+  private long tick = Long.MIN_VALUE;
+  private final Map<Class<?>, Map<Long, List<Entity>>> sections = new HashMap<Class<?>, Map<Long, List<Entity>>>();
+
+  private EntityQueryCache(World world) {
+    this.world = world;
+  }
+
+  private <T extends Entity> List<T> select(Class<T> clazz, AxisAlignedBB bounds, IEntitySelector selector) {
+    long now = world.getTotalWorldTime();
+    if(now != tick) {
+      tick = now;
+      sections.clear();
+    }
+    Map<Long, List<Entity>> byClass = sections.get(clazz);
+    if(byClass == null) {
+      byClass = new HashMap<Long, List<Entity>>();
+      sections.put(clazz, byClass);
+    }
+
+    // Same section range as vanilla, which allows for entities overlapping
+    // their neighbours by up to 2 blocks
+    int minX = MathHelper.floor_double((bounds.minX - World.MAX_ENTITY_RADIUS) / 16.0D);
+    int maxX = MathHelper.floor_double((bounds.maxX + World.MAX_ENTITY_RADIUS) / 16.0D);
+    int minY = Math.max(0, MathHelper.floor_double((bounds.minY - World.MAX_ENTITY_RADIUS) / 16.0D));
+    int maxY = Math.min(15, MathHelper.floor_double((bounds.maxY + World.MAX_ENTITY_RADIUS) / 16.0D));
+    int minZ = MathHelper.floor_double((bounds.minZ - World.MAX_ENTITY_RADIUS) / 16.0D);
+    int maxZ = MathHelper.floor_double((bounds.maxZ + World.MAX_ENTITY_RADIUS) / 16.0D);
+
+    List<T> res = new ArrayList<T>();
+    for (int cx = minX; cx <= maxX; cx++) {
+      for (int cz = minZ; cz <= maxZ; cz++) {
+        if(!world.getChunkProvider().chunkExists(cx, cz)) {
+          continue;
+        }
+        Chunk chunk = null;
+        for (int cy = minY; cy <= maxY; cy++) {
+          Long key = sectionKey(cx, cy, cz);
+          List<Entity> inSection = byClass.get(key);
+          if(inSection == null) {
+            if(chunk == null) {
+              chunk = world.getChunkFromChunkCoords(cx, cz);
+            }
+            inSection = collect(chunk, cy, clazz);
+            byClass.put(key, inSection);
+          }
+          for (Entity entity : inSection) {
+            if(!entity.isDead && entity.boundingBox.intersectsWith(bounds) && (selector == null || selector.isEntityApplicable(entity))) {
+              res.add(clazz.cast(entity));
+            }
+          }
+        }
+      }
+    }
+    return res;
+  }
+
+  private static List<Entity> collect(Chunk chunk, int cy, Class<?> clazz) {
+    List<?> entities = chunk.entityLists[cy];
+    if(entities.isEmpty()) {
+      return new ArrayList<Entity>(0);
+    }
+    List<Entity> res = new ArrayList<Entity>();
+    for (Object obj : entities) {
+      if(clazz.isInstance(obj)) {
+        res.add((Entity) obj);
+      }
+    }
+    return res;
+  }
+
+  private static long sectionKey(int cx, int cy, int cz) {
+    return (((long) cx & 0x3FFFFFFL) << 30) | (((long) cz & 0x3FFFFFFL) << 4) | (cy & 0xF);
+  }
+
+}
@@ -18,6 +18,7 @@ import cpw.mods.fml.common.gameevent.TickEvent;
 import cpw.mods.fml.common.registry.GameRegistry;
 import cpw.mods.fml.relauncher.Side;
 import crazypants.enderio.config.Config;
+import crazypants.enderio.entity.EntityQueryCache;
 import crazypants.enderio.item.PacketMagnetState.SlotType;
 import crazypants.enderio.network.PacketHandler;
 import crazypants.util.BaublesUtil;
@@ -68,11 +69,9 @@ public class MagnetController implements IEntitySelector {
         player.posX - Config.magnetRange, player.posY - Config.magnetRange, player.posZ - Config.magnetRange,
         player.posX + Config.magnetRange, player.posY + Config.magnetRange, player.posZ + Config.magnetRange);
         
-    List<Entity> interestingItems = player.worldObj.selectEntitiesWithinAABB(EntityItem.class, aabb, this);        
-    List<Entity> xp = player.worldObj.selectEntitiesWithinAABB(EntityXPOrb.class, aabb, this);
-    if(!xp.isEmpty()) {
-      interestingItems.addAll(xp);
-    }
+    List<Entity> interestingItems = new ArrayList<Entity>();
+    interestingItems.addAll(EntityQueryCache.selectEntitiesWithinAABB(player.worldObj, EntityItem.class, aabb, this));
+    interestingItems.addAll(EntityQueryCache.selectEntitiesWithinAABB(player.worldObj, EntityXPOrb.class, aabb, this));
 
     for (Entity entity : interestingItems) {
       double x = player.posX + 0.5D - entity.posX;
@@ -1,5 +1,8 @@
 package crazypants.enderio.machine;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
 import java.util.EnumMap;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -28,6 +31,7 @@ import crazypants.enderio.EnderIO;
 import crazypants.enderio.TileEntityEio;
 import crazypants.enderio.api.redstone.IRedstoneConnectable;
 import crazypants.enderio.config.Config;
+import crazypants.enderio.network.PacketHandler;
 
 public abstract class AbstractMachineEntity extends TileEntityEio implements ISidedInventory, IMachine, IRedstoneModeControlable, 
   IRedstoneConnectable, IIoConfigurable {
@@ -45,6 +49,7 @@ public abstract class AbstractMachineEntity extends TileEntityEio implements ISi
 
   protected RedstoneControlMode redstoneControlMode;
 
+  @Synced
   protected boolean redstoneCheckPassed;
 
   private boolean redstoneStateDirty = true;
@@ -55,6 +60,10 @@ public abstract class AbstractMachineEntity extends TileEntityEio implements ISi
 
   protected boolean notifyNeighbours = false;
 
+  // Values of the synced fields last sent to clients, null until the next
+  // update should send all of them
+  private long[] syncedValues;
+
   @SideOnly(Side.CLIENT)
   private MachineSound sound;
 
@@ -260,10 +269,12 @@ public abstract class AbstractMachineEntity extends TileEntityEio implements ISi
 
     if(requiresClientSync) {
 
-      // this will cause 'getPacketDescription()' to be called and its result
-      // will be sent to the PacketHandler on the other end of
-      // client/server connection
-      worldObj.markBlockForUpdate(xCoord, yCoord, zCoord);
+      if(forceClientUpdate || !sendSyncedState()) {
+        // this will cause 'getPacketDescription()' to be called and its result
+        // will be sent to the PacketHandler on the other end of
+        // client/server connection
+        worldObj.markBlockForUpdate(xCoord, yCoord, zCoord);
+      }
       // And this will make sure our current tile entity state is saved
       markDirty();
     }
@@ -275,6 +286,32 @@ public abstract class AbstractMachineEntity extends TileEntityEio implements ISi
 
   }
 
+  /**
+   * Sends the changed {@link Synced} fields to the players tracking this
+   * machine, if it declares any.
+   *
+   * @return false if a full description packet is needed instead
+   */
+  private boolean sendSyncedState() {
+    SyncedFields fields = SyncedFields.forClass(getClass());
+    if(!fields.isDeltaCapable()) {
+      return false;
+    }
+    boolean all = syncedValues == null;
+    if(all) {
+      syncedValues = new long[fields.size()];
+    }
+    ByteBuf buf = Unpooled.buffer();
+    if(fields.writeChanged(this, syncedValues, all, buf)) {
+      PacketHandler.sendToAllTracking(new PacketMachineState(this, buf), this);
+    }
+    return true;
+  }
+
+  void readSyncedState(ByteBuf buf) {
+    SyncedFields.forClass(getClass()).read(this, buf);
+  }
+
   protected void updateEntityClient() {
     // check if the block on the client needs to update its texture
     if(isActive() != lastActive) {
@@ -491,6 +528,8 @@ public abstract class AbstractMachineEntity extends TileEntityEio implements ISi
     nbtRoot.setBoolean("redstoneCheckPassed", redstoneCheckPassed);
     nbtRoot.setBoolean("forceClientUpdate", forceClientUpdate);
     forceClientUpdate = false;
+    // This may be a description packet, so the next delta sends everything
+    syncedValues = null;
 
     writeCommon(nbtRoot);
   }
@@ -0,0 +1,53 @@
+package crazypants.enderio.machine;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import net.minecraft.tileentity.TileEntity;
+
+import com.enderio.core.common.network.MessageTileEntity;
+
+import cpw.mods.fml.common.network.simpleimpl.IMessage;
+import cpw.mods.fml.common.network.simpleimpl.IMessageHandler;
+import cpw.mods.fml.common.network.simpleimpl.MessageContext;
+import crazypants.enderio.EnderIO;
+
+/**
+ * Carries the changed {@link Synced} fields of a machine, as written by
+ * {@link SyncedFields#writeChanged}.
+ */
+public class PacketMachineState extends MessageTileEntity<AbstractMachineEntity> implements IMessageHandler<PacketMachineState, IMessage> {
+
+  private byte[] data;
+
+  public PacketMachineState() {
+  }
+
+  public PacketMachineState(AbstractMachineEntity tile, ByteBuf state) {
+    super(tile);
+    data = new byte[state.readableBytes()];
+    state.readBytes(data);
+  }
+
+  @Override
+  public void toBytes(ByteBuf buf) {
+    super.toBytes(buf);
+    buf.writeShort(data.length);
+    buf.writeBytes(data);
+  }
+
+  @Override
+  public void fromBytes(ByteBuf buf) {
+    super.fromBytes(buf);
+    data = new byte[buf.readShort()];
+    buf.readBytes(data);
+  }
+
+  @Override
+  public IMessage onMessage(PacketMachineState message, MessageContext ctx) {
+    TileEntity tile = message.getTileEntity(EnderIO.proxy.getClientWorld());
+    if(tile instanceof AbstractMachineEntity) {
+      ((AbstractMachineEntity) tile).readSyncedState(Unpooled.wrappedBuffer(message.data));
+    }
+    return null;
+  }
+}
@@ -0,0 +1,16 @@
+package crazypants.enderio.machine;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a primitive machine field the client needs to render or display the
+ * machine. Changed fields are sent to the client on their own, see
+ * {@link SyncedFields}.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface Synced {
+}
@@ -0,0 +1,192 @@
+package crazypants.enderio.machine;
+
+import io.netty.buffer.ByteBuf;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import crazypants.enderio.Log;
+
+/**
+ * The {@link Synced} fields of a machine class. Machines that declare any of
+ * their own send the changed fields in a {@link PacketMachineState} when they
+ * need a client sync, rather than a full description packet. The values last
+ * sent are kept as longs so they can be compared without boxing.
+ */
+public class SyncedFields {
+
+  // getDeclaredFields order is up to the JVM, and the server and its clients
+  // may run different ones, so the mask bits follow this order instead
+  private static final Comparator<Field> FIELD_ORDER = new Comparator<Field>() {
+    @Override
+    public int compare(Field a, Field b) {
+      int res = a.getDeclaringClass().getName().compareTo(b.getDeclaringClass().getName());
+      return res != 0 ? res : a.getName().compareTo(b.getName());
+    }
+  };
+
+  private static final Map<Class<?>, SyncedFields> byClass = new ConcurrentHashMap<Class<?>, SyncedFields>();
+
+  public static SyncedFields forClass(Class<?> clazz) {
+    SyncedFields res = byClass.get(clazz);
+    if(res == null) {
+      res = new SyncedFields(clazz);
+      byClass.put(clazz, res);
+    }
+    return res;
+  }
+
+  private final Field[] fields;
+  private final boolean deltaCapable;
+
+  private SyncedFields(Class<?> clazz) {
+    List<Field> found = new ArrayList<Field>();
+    boolean ownFields = false;
+    for (Class<?> c = clazz; c != null && c != Object.class; c = c.getSuperclass()) {
+      for (Field f : c.getDeclaredFields()) {
+        if(!f.isAnnotationPresent(Synced.class)) {
+          continue;
+        }
+        if(!f.getType().isPrimitive() || Modifier.isStatic(f.getModifiers()) || Modifier.isFinal(f.getModifiers())) {
+          Log.warn("SyncedFields: Ignoring " + c.getName() + "." + f.getName() + " as only non-final primitive fields can be synced");
+          continue;
+        }
+        f.setAccessible(true);
+        found.add(f);
+        ownFields |= c != AbstractMachineEntity.class;
+      }
+    }
+    // More than 64 fields won't fit the dirty mask
+    if(found.size() > 64) {
+      Log.warn("SyncedFields: " + clazz.getName() + " has more than 64 synced fields, using full updates instead");
+      found.clear();
+      ownFields = false;
+    }
+    Collections.sort(found, FIELD_ORDER);
+    fields = found.toArray(new Field[found.size()]);
+    deltaCapable = ownFields;
+  }
+
+  /**
+   * @return true if the class declares synced fields beyond those of the
+   *         machine base class, and so can be updated with deltas
+   */
+  public boolean isDeltaCapable() {
+    return deltaCapable;
+  }
+
+  public int size() {
+    return fields.length;
+  }
+
+  /**
+   * Writes the fields whose values differ from lastSent, preceded by a mask of
+   * which ones they are, and updates lastSent. Writes nothing and returns
+   * false if nothing changed. If all is set every field is written.
+   */
+  public boolean writeChanged(Object obj, long[] lastSent, boolean all, ByteBuf buf) {
+    long mask = 0;
+    long[] values = new long[fields.length];
+    for (int i = 0; i < fields.length; i++) {
+      values[i] = getBits(fields[i], obj);
+      if(all || values[i] != lastSent[i]) {
+        mask |= 1L << i;
+      }
+    }
+    if(mask == 0) {
+      return false;
+    }
+    buf.writeLong(mask);
+    for (int i = 0; i < fields.length; i++) {
+      if((mask & (1L << i)) != 0) {
+        writeValue(fields[i].getType(), values[i], buf);
+        lastSent[i] = values[i];
+      }
+    }
+    return true;
+  }
+
+  public void read(Object obj, ByteBuf buf) {
+    long mask = buf.readLong();
+    for (int i = 0; i < fields.length; i++) {
+      if((mask & (1L << i)) != 0) {
+        setBits(fields[i], obj, readValue(fields[i].getType(), buf));
+      }
+    }
+  }
+
+  private static long getBits(Field f, Object obj) {
+    try {
+      Class<?> type = f.getType();
+      if(type == boolean.class) {
+        return f.getBoolean(obj) ? 1 : 0;
+      } else if(type == float.class) {
+        return Float.floatToIntBits(f.getFloat(obj));
+      } else if(type == double.class) {
+        return Double.doubleToLongBits(f.getDouble(obj));
+      } else if(type == char.class) {
+        return f.getChar(obj);
+      }
+      return f.getLong(obj);
+    } catch (IllegalAccessException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  private static void setBits(Field f, Object obj, long bits) {
+    try {
+      Class<?> type = f.getType();
+      if(type == boolean.class) {
+        f.setBoolean(obj, bits != 0);
+      } else if(type == byte.class) {
+        f.setByte(obj, (byte) bits);
+      } else if(type == short.class) {
+        f.setShort(obj, (short) bits);
+      } else if(type == char.class) {
+        f.setChar(obj, (char) bits);
+      } else if(type == int.class) {
+        f.setInt(obj, (int) bits);
+      } else if(type == float.class) {
+        f.setFloat(obj, Float.intBitsToFloat((int) bits));
+      } else if(type == double.class) {
+        f.setDouble(obj, Double.longBitsToDouble(bits));
+      } else {
+        f.setLong(obj, bits);
+      }
+    } catch (IllegalAccessException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  private static void writeValue(Class<?> type, long bits, ByteBuf buf) {
+    if(type == boolean.class || type == byte.class) {
+      buf.writeByte((int) bits);
+    } else if(type == short.class || type == char.class) {
+      buf.writeShort((int) bits);
+    } else if(type == int.class || type == float.class) {
+      buf.writeInt((int) bits);
+    } else {
+      buf.writeLong(bits);
+    }
+  }
+
+  private static long readValue(Class<?> type, ByteBuf buf) {
+    if(type == boolean.class || type == byte.class) {
+      return buf.readByte();
+    } else if(type == short.class) {
+      return buf.readShort();
+    } else if(type == char.class) {
+      return buf.readChar();
+    } else if(type == int.class || type == float.class) {
+      return buf.readInt();
+    }
+    return buf.readLong();
+  }
+
+}
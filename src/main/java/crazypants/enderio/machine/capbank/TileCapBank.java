@@ -12,7 +12,6 @@ import net.minecraft.inventory.IInventory;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.nbt.NBTTagList;
-import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.AxisAlignedBB;
 import net.minecraft.util.MathHelper;
 import net.minecraft.world.World;
@@ -43,6 +42,8 @@ import crazypants.enderio.network.PacketHandler;
 import crazypants.enderio.power.IInternalPowerReceiver;
 import crazypants.enderio.power.IPowerInterface;
 import crazypants.enderio.power.IPowerStorage;
+import crazypants.enderio.power.PowerEndpoint;
+import crazypants.enderio.power.PowerEndpointCache;
 import crazypants.enderio.power.PowerHandlerUtil;
 
 public class TileCapBank extends TileEntityEio implements IInternalPowerReceiver, IInventory, IIoConfigurable, IPowerStorage {
@@ -541,9 +542,10 @@ public class TileCapBank extends TileEntityEio implements IInternalPowerReceiver
 
     receptors.clear();
     for (ForgeDirection dir : ForgeDirection.VALID_DIRECTIONS) {
-      IPowerInterface pi = getReceptorForFace(dir);
-      if(pi != null) {
-        EnergyReceptor er = new EnergyReceptor(this, pi, dir);
+      PowerEndpoint endpoint = getEndpointForFace(dir);
+      if(endpoint != null) {
+        endpoint.resetBackoff();
+        EnergyReceptor er = new EnergyReceptor(this, endpoint, dir);
         validateModeForReceptor(er);
         IoMode ioMode = getIoMode(dir);
         if(ioMode != IoMode.DISABLED && ioMode != IoMode.PULL) {
@@ -557,25 +559,24 @@ public class TileCapBank extends TileEntityEio implements IInternalPowerReceiver
   }
 
   private IPowerInterface getReceptorForFace(ForgeDirection faceHit) {
-    BlockCoord checkLoc = new BlockCoord(this).getLocation(faceHit);
-    TileEntity te = worldObj.getTileEntity(checkLoc.x, checkLoc.y, checkLoc.z);
-    if(!(te instanceof TileCapBank)) {
-      return PowerHandlerUtil.create(te);
-    } else {
-      TileCapBank other = (TileCapBank) te;
-      if(other.getType() != getType()) {
-        return PowerHandlerUtil.create(te);
-      }
+    PowerEndpoint endpoint = getEndpointForFace(faceHit);
+    return endpoint == null ? null : endpoint.getPowerInterface();
+  }
+
+  private PowerEndpoint getEndpointForFace(ForgeDirection faceHit) {
+    PowerEndpoint endpoint = PowerEndpointCache.getEndpoint(worldObj, xCoord + faceHit.offsetX, yCoord + faceHit.offsetY, zCoord + faceHit.offsetZ);
+    if(endpoint != null && endpoint.getTile() instanceof TileCapBank && ((TileCapBank) endpoint.getTile()).getType() == getType()) {
+      return null;
     }
-    return null;
+    return endpoint;
   }
 
   private EnergyReceptor getEnergyReceptorForFace(ForgeDirection dir) {
-    IPowerInterface pi = getReceptorForFace(dir);
-    if(pi == null || pi.getDelegate() instanceof TileCapBank) {
+    PowerEndpoint endpoint = getEndpointForFace(dir);
+    if(endpoint == null || endpoint.getTile() instanceof TileCapBank) {
       return null;
     }
-    return new EnergyReceptor(this, pi, dir);
+    return new EnergyReceptor(this, endpoint, dir);
   }
 
   private void validateModeForReceptor(ForgeDirection dir) {
@@ -620,6 +621,9 @@ public class TileCapBank extends TileEntityEio implements IInternalPowerReceiver
 
   @Override
   public int getEnergyStored(ForgeDirection from) {
+    if(network != null) {
+      network.updateBankEnergy(this);
+    }
     return getEnergyStored();
   }
 
@@ -693,6 +697,9 @@ public class TileCapBank extends TileEntityEio implements IInternalPowerReceiver
   }
 
   public int getComparatorOutput() {
+    if(network != null && network.getMaxEnergyStoredL() > 0) {
+      return (int) (((double) network.getEnergyStoredL() / (double) network.getMaxEnergyStoredL()) * 15);
+    }
     return (int) (((double) getEnergyStored() / (double) getMaxEnergyStored()) * 15);
   }
 
@@ -808,6 +815,9 @@ public class TileCapBank extends TileEntityEio implements IInternalPowerReceiver
 
   //Values common to both item and block form
   public void writeCommonNBT(NBTTagCompound nbtRoot) {
+    if(network != null) {
+      network.updateBankEnergy(this);
+    }
     getType().writeTypeToNBT(nbtRoot);
     nbtRoot.setInteger(PowerHandlerUtil.STORED_ENERGY_NBT_KEY, energyStored);
 
@@ -4,6 +4,7 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 
+import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.MathHelper;
 import net.minecraft.world.World;
@@ -105,6 +106,15 @@ public class CapBankClientNetwork implements ICapBankNetwork {
     invalidateDisplayInfoCache();
   }
 
+  @Override
+  public void updateBankEnergy(TileCapBank cap) {
+  }
+
+  @Override
+  public boolean addSubscriber(EntityPlayerMP player, boolean viewingEnergy) {
+    return false;
+  }
+
   @Override
   public Collection<TileCapBank> getMembers() {
     return members.values();
@@ -3,10 +3,13 @@ package crazypants.enderio.machine.capbank.network;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
+import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.item.ItemStack;
 import net.minecraft.world.World;
 import net.minecraftforge.common.util.ForgeDirection;
@@ -16,10 +19,12 @@ import com.enderio.core.common.util.BlockCoord;
 import com.enderio.core.common.util.RoundRobinIterator;
 
 import cpw.mods.fml.common.gameevent.TickEvent.ServerTickEvent;
+import cpw.mods.fml.common.network.simpleimpl.IMessage;
 import crazypants.enderio.conduit.ConduitNetworkTickHandler;
 import crazypants.enderio.conduit.ConduitNetworkTickHandler.TickListener;
 import crazypants.enderio.conduit.ConnectionMode;
 import crazypants.enderio.conduit.power.IPowerConduit;
+import crazypants.enderio.config.Config;
 import crazypants.enderio.machine.IoMode;
 import crazypants.enderio.machine.RedstoneControlMode;
 import crazypants.enderio.machine.capbank.CapBankType;
@@ -27,7 +32,6 @@ import crazypants.enderio.machine.capbank.TileCapBank;
 import crazypants.enderio.machine.capbank.packet.PacketNetworkEnergyResponse;
 import crazypants.enderio.machine.capbank.packet.PacketNetworkStateResponse;
 import crazypants.enderio.network.PacketHandler;
-import crazypants.enderio.power.IPowerInterface;
 import crazypants.enderio.power.IPowerStorage;
 import crazypants.enderio.power.PerTickIntAverageCalculator;
 
@@ -51,7 +55,6 @@ public class CapBankNetwork implements ICapBankNetwork {
   private long timeAtLastApply;
 
   private long energyStored;
-  private long prevEnergyStored = -1;
   private long energyReceived;
   private long energySend;
 
@@ -76,6 +79,17 @@ public class CapBankNetwork implements ICapBankNetwork {
 
   private boolean firstUpate = true;
 
+  // Ticks a player keeps getting energy updates after last asking for them
+  private static final int ENERGY_VIEWER_TIMEOUT = 100;
+
+  // Players that know about this network, mapped to the world time they last
+  // asked for its energy (-1 if they never did)
+  private final Map<EntityPlayerMP, Long> subscribers = new IdentityHashMap<EntityPlayerMP, Long>();
+  private int ticksSinceEnergySync;
+  private long lastSyncedEnergy = -1;
+  private float lastSyncedInput;
+  private float lastSyncedOutput;
+
   public CapBankNetwork(int id) {
     this.id = id;
   }
@@ -93,6 +107,7 @@ public class CapBankNetwork implements ICapBankNetwork {
     for (TileCapBank con : neighbours) {
       ICapBankNetwork network = con.getNetwork();
       if(network != null) {
+        adoptSubscribers(network);
         network.destroyNetwork();
       }
     }
@@ -109,6 +124,7 @@ public class CapBankNetwork implements ICapBankNetwork {
       ICapBankNetwork network = cap.getNetwork();
       if(network != this) {
         if(network != null) {
+          adoptSubscribers(network);
           network.destroyNetwork();
         }
         if(cap.setNetwork(this)) {
@@ -135,10 +151,12 @@ public class CapBankNetwork implements ICapBankNetwork {
         cap = cb;
       }
     }
-    capBanks.clear();
+    // sent while the banks are still known, so the subscribers' world can be checked
     if(cap != null) {
-      PacketHandler.INSTANCE.sendToAll(new PacketNetworkStateResponse(this, true));
+      sendToSubscribers(new PacketNetworkStateResponse(this, true), false);
     }
+    capBanks.clear();
+    subscribers.clear();
   }
 
   @Override
@@ -200,6 +218,94 @@ public class CapBankNetwork implements ICapBankNetwork {
     return new NetworkState(this);
   }
 
+  //--------- Client Sync
+
+  @Override
+  public boolean addSubscriber(EntityPlayerMP player, boolean viewingEnergy) {
+    long now = player.worldObj.getTotalWorldTime();
+    Long lastViewed = subscribers.get(player);
+    boolean receivingUpdates = lastViewed != null && isViewing(lastViewed, now);
+    if(viewingEnergy) {
+      subscribers.put(player, now);
+    } else if(lastViewed == null) {
+      subscribers.put(player, -1L);
+    }
+    return !receivingUpdates;
+  }
+
+  /**
+   * Takes over the subscribers of a network this one is replacing, so players
+   * viewing a bank keep getting energy updates after a merge.
+   */
+  private void adoptSubscribers(ICapBankNetwork network) {
+    if(!(network instanceof CapBankNetwork)) {
+      return;
+    }
+    for (Map.Entry<EntityPlayerMP, Long> entry : ((CapBankNetwork) network).subscribers.entrySet()) {
+      Long lastViewed = subscribers.get(entry.getKey());
+      if(lastViewed == null || lastViewed < entry.getValue()) {
+        subscribers.put(entry.getKey(), entry.getValue());
+      }
+    }
+  }
+
+  private static boolean isViewing(long lastViewed, long now) {
+    return lastViewed >= 0 && now - lastViewed < ENERGY_VIEWER_TIMEOUT;
+  }
+
+  private void syncEnergy() {
+    if(subscribers.isEmpty() || ++ticksSinceEnergySync < Config.capBankClientSyncIntervalTicks) {
+      return;
+    }
+    ticksSinceEnergySync = 0;
+    // Done before the unchanged check, so players that left aren't held on to
+    // for as long as the network sits idle
+    pruneSubscribers();
+    float avgIn = getAverageInputPerTick();
+    float avgOut = getAverageOutputPerTick();
+    if(subscribers.isEmpty() || (energyStored == lastSyncedEnergy && avgIn == lastSyncedInput && avgOut == lastSyncedOutput)) {
+      return;
+    }
+    lastSyncedEnergy = energyStored;
+    lastSyncedInput = avgIn;
+    lastSyncedOutput = avgOut;
+    sendToSubscribers(new PacketNetworkEnergyResponse(this), true);
+  }
+
+  /**
+   * Drops subscribed players that logged out or left the network's world.
+   */
+  private void pruneSubscribers() {
+    if(subscribers.isEmpty() || capBanks.isEmpty()) {
+      return;
+    }
+    World world = capBanks.get(0).getWorldObj();
+    Iterator<EntityPlayerMP> iter = subscribers.keySet().iterator();
+    while (iter.hasNext()) {
+      EntityPlayerMP player = iter.next();
+      if(player.isDead || player.worldObj != world) {
+        iter.remove();
+      }
+    }
+  }
+
+  /**
+   * Sends the message to subscribed players still in the network's world,
+   * dropping those that left it.
+   */
+  private void sendToSubscribers(IMessage message, boolean energyViewersOnly) {
+    pruneSubscribers();
+    if(subscribers.isEmpty() || capBanks.isEmpty()) {
+      return;
+    }
+    long now = capBanks.get(0).getWorldObj().getTotalWorldTime();
+    for (Map.Entry<EntityPlayerMP, Long> entry : subscribers.entrySet()) {
+      if(!energyViewersOnly || isViewing(entry.getValue(), now)) {
+        PacketHandler.sendTo(message, entry.getKey());
+      }
+    }
+  }
+
   //--------- Tick Handling 
 
   @Override
@@ -223,21 +329,23 @@ public class CapBankNetwork implements ICapBankNetwork {
     chargeItems(inventory.getStacks());
     transmitEnergy();
 
-    if(energyStored != prevEnergyStored) {
-      distributeEnergyToBanks();
-    }
+    // The network holds the energy, banks only get their share written back
+    // when it is needed (see updateBankEnergy and destroyNetwork)
     powerTrackerIn.tick(energyReceived);
     powerTrackerOut.tick(energySend);
-    prevEnergyStored = energyStored;
     energyReceived = 0;
     energySend = 0;
 
     if(firstUpate) {
+      // Clients only subscribe once they ask for the new network's id, so push
+      // the initial state to everyone who can see it
       if(!capBanks.isEmpty()) {
-        PacketHandler.sendToAllAround(new PacketNetworkStateResponse(this), capBanks.get(0));
-        PacketHandler.sendToAllAround(new PacketNetworkEnergyResponse(this), capBanks.get(0));
+        PacketHandler.sendToAllTracking(new PacketNetworkStateResponse(this), capBanks.get(0));
+        PacketHandler.sendToAllTracking(new PacketNetworkEnergyResponse(this), capBanks.get(0));
       }
       firstUpate = false;
+    } else {
+      syncEnergy();
     }
 
   }
@@ -262,10 +370,11 @@ public class CapBankNetwork implements ICapBankNetwork {
       receptorIterator = new RoundRobinIterator<EnergyReceptor>(rl);
     }
 
+    long now = capBanks.get(0).getWorldObj().getTotalWorldTime();
     int totalSent = 0;
     Iterator<EnergyReceptor> iter = receptorIterator.iterator();
     while (available > 0 && iter.hasNext()) {
-      int sent = sendPowerTo(iter.next(), available);
+      int sent = sendPowerTo(iter.next(), available, now);
       totalSent += sent;
       available -= sent;
     }
@@ -282,19 +391,14 @@ public class CapBankNetwork implements ICapBankNetwork {
     return available;
   }
 
-  private int sendPowerTo(EnergyReceptor next, int available) {
+  private int sendPowerTo(EnergyReceptor next, int available, long now) {
     //Can only send to power conduits if we are in push mode or the conduit is in pull mode
     //With default setting interaction between conduits and Cap Banks is handled by NetworkPowerManager
     IPowerConduit con = next.getConduit();
     if(con != null && next.getMode() == IoMode.NONE && con.getConnectionMode(next.getDir().getOpposite()) == ConnectionMode.IN_OUT) {
       return 0;
     }
-    IPowerInterface inf = next.getReceptor();
-    int result = inf.recieveEnergy(next.getDir().getOpposite(), available);
-    if(result < 0) {
-      result = 0;
-    }
-    return result;
+    return next.getEndpoint().offer(next.getDir().getOpposite(), available, now);
   }
 
   public boolean chargeItems(ItemStack[] items) {
@@ -322,6 +426,18 @@ public class CapBankNetwork implements ICapBankNetwork {
     return chargedItem;
   }
 
+  @Override
+  public void updateBankEnergy(TileCapBank cap) {
+    if(capBanks.isEmpty()) {
+      return;
+    }
+    long share = energyStored / capBanks.size();
+    if(cap == capBanks.get(0)) {
+      share += energyStored % capBanks.size();
+    }
+    cap.setEnergyStored((int) share);
+  }
+
   private void distributeEnergyToBanks() {
     if(capBanks.isEmpty()) {
       return;
@@ -9,9 +9,11 @@ import crazypants.enderio.conduit.power.IPowerConduit;
 import crazypants.enderio.machine.IoMode;
 import crazypants.enderio.machine.capbank.TileCapBank;
 import crazypants.enderio.power.IPowerInterface;
+import crazypants.enderio.power.PowerEndpoint;
 
 public class EnergyReceptor {
 
+  private final PowerEndpoint endpoint;
   private final IPowerInterface receptor;
   private final ForgeDirection fromDir;
   private final IoMode mode;
@@ -19,8 +21,9 @@ public class EnergyReceptor {
 
   private final IPowerConduit conduit;
 
-  public EnergyReceptor(TileCapBank cb, IPowerInterface receptor, ForgeDirection dir) {
-    this.receptor = receptor;
+  public EnergyReceptor(TileCapBank cb, PowerEndpoint endpoint, ForgeDirection dir) {
+    this.endpoint = endpoint;
+    receptor = endpoint.getPowerInterface();
     fromDir = dir;
     mode = cb.getIoMode(dir);
     if(receptor.getDelegate() instanceof IConduitBundle) {
@@ -39,6 +42,10 @@ public class EnergyReceptor {
     return receptor;
   }
 
+  public PowerEndpoint getEndpoint() {
+    return endpoint;
+  }
+
   public ForgeDirection getDir() {
     return fromDir;
   }
@@ -2,6 +2,8 @@ package crazypants.enderio.machine.capbank.network;
 
 import java.util.Collection;
 
+import net.minecraft.entity.player.EntityPlayerMP;
+
 import crazypants.enderio.machine.RedstoneControlMode;
 import crazypants.enderio.machine.capbank.TileCapBank;
 import crazypants.enderio.power.IPowerStorage;
@@ -20,6 +22,14 @@ public interface ICapBankNetwork extends IPowerStorage {
 
   NetworkState getState();
 
+  /**
+   * Registers a player as knowing about this network so it is told when the
+   * network goes away. Players viewing the energy level also get rate limited
+   * energy updates for a while. Returns true if the player wasn't receiving
+   * those yet, in which case the caller should reply directly.
+   */
+  boolean addSubscriber(EntityPlayerMP player, boolean viewingEnergy);
+
   void onUpdateEntity(TileCapBank tileCapBank);
 
 
@@ -31,6 +41,12 @@ public interface ICapBankNetwork extends IPowerStorage {
   @Override
   void addEnergy(int energy);
 
+  /**
+   * Writes the bank's share of the network's energy to it. Banks only hold a
+   * copy of their share, so this needs calling before it is read.
+   */
+  void updateBankEnergy(TileCapBank cap);
+
   int receiveEnergy(int maxReceive, boolean simulate);
 
   @Override
@@ -14,7 +14,8 @@ public class PacketNetworkEnergyRequest extends PacketCapBank<PacketNetworkEnerg
 
   @Override
   protected PacketNetworkEnergyResponse handleMessage(TileCapBank te, PacketNetworkEnergyRequest message, MessageContext ctx) {
-    if(te.getNetwork() != null) {
+    // Players already receiving pushed energy updates don't need a reply
+    if(te.getNetwork() != null && te.getNetwork().addSubscriber(ctx.getServerHandler().playerEntity, true)) {
       return new PacketNetworkEnergyResponse(te.getNetwork());
     }
     return null;
@@ -15,6 +15,7 @@ public class PacketNetworkIdRequest extends PacketCapBank<PacketNetworkIdRequest
   @Override
   protected PacketNetworkIdResponse handleMessage(TileCapBank te, PacketNetworkIdRequest message, MessageContext ctx) {
     if(te.getNetwork() != null) {
+      te.getNetwork().addSubscriber(ctx.getServerHandler().playerEntity, false);
       return new PacketNetworkIdResponse(te);
     }
     return null;
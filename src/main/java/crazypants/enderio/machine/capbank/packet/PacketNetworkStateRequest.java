@@ -16,7 +16,11 @@ public class PacketNetworkStateRequest extends PacketCapBank<PacketNetworkStateR
   @Override
   protected PacketNetworkStateResponse handleMessage(TileCapBank te, PacketNetworkStateRequest message, MessageContext ctx) {
     ICapBankNetwork network = te.getNetwork();
-    return network == null ? null : new PacketNetworkStateResponse(network);
+    if(network == null) {
+      return null;
+    }
+    network.addSubscriber(ctx.getServerHandler().playerEntity, true);
+    return new PacketNetworkStateResponse(network);
   }
 
 }
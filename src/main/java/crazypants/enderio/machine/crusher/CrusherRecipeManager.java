@@ -2,6 +2,7 @@ package crazypants.enderio.machine.crusher;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -21,7 +22,9 @@ import crazypants.enderio.machine.recipe.Recipe;
 import crazypants.enderio.machine.recipe.RecipeBonusType;
 import crazypants.enderio.machine.recipe.RecipeConfig;
 import crazypants.enderio.machine.recipe.RecipeConfigParser;
+import crazypants.enderio.machine.recipe.RecipeIndex;
 import crazypants.enderio.machine.recipe.RecipeInput;
+import crazypants.enderio.machine.recipe.RecipeMatchCache;
 import crazypants.enderio.machine.recipe.RecipeOutput;
 
 public class CrusherRecipeManager {
@@ -40,6 +43,10 @@ public class CrusherRecipeManager {
   }
 
   private final List<Recipe> recipes = new ArrayList<Recipe>();
+
+  private final RecipeIndex<Recipe> index = new RecipeIndex<Recipe>();
+
+  private final RecipeMatchCache<Recipe> matches = new RecipeMatchCache<Recipe>();
   
   private final List<RecipeInput> ballExcludes = new ArrayList<RecipeInput>();
 
@@ -152,12 +159,21 @@ public class CrusherRecipeManager {
     if(input == null) {
       return null;
     }
-    for (Recipe recipe : recipes) {
-      if(recipe.isInputForRecipe(new MachineRecipeInput(0, input))) {
-        return recipe;
+    MachineRecipeInput in = new MachineRecipeInput(0, input);
+    RecipeMatchCache.Key key = RecipeMatchCache.getKey(in);
+    RecipeMatchCache.Match<Recipe> cached = matches.get(key);
+    if(cached != null) {
+      return cached.recipe;
+    }
+    Recipe found = null;
+    for (Recipe recipe : index.getCandidates(input)) {
+      if(recipe.isInputForRecipe(in)) {
+        found = recipe;
+        break;
       }
     }
-    return null;
+    matches.put(key, found);
+    return found;
   }
 
   private void processConfig(RecipeConfig config) {
@@ -198,10 +214,12 @@ public class CrusherRecipeManager {
       return;
     }
     recipes.add(recipe);
+    index.addRecipe(recipe);
+    matches.clear();
   }
 
   public List<Recipe> getRecipes() {
-    return recipes;
+    return Collections.unmodifiableList(recipes);
   }
 
   public static ItemStack getInput(IRecipe recipe) {
@@ -0,0 +1,205 @@
+package crazypants.enderio.machine.farm;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+import net.minecraft.block.Block;
+import net.minecraft.world.World;
+import net.minecraftforge.event.world.BlockEvent;
+
+import com.enderio.core.common.util.BlockCoord;
+
+import cpw.mods.fml.common.eventhandler.SubscribeEvent;
+import crazypants.enderio.machine.farm.farmers.IFarmerJoe;
+
+/**
+ * The plots of a farm station and what was last seen on each. Plots are
+ * visited in the order they fall due. Empty plots and plots that were just
+ * worked on are due again straight away, while a plot where nothing could be
+ * done waits a little longer each time it is found unchanged, up to the time
+ * the old one plot every other tick sweep took to get round. Crops growing
+ * fire no event, so that cap is what bounds how late they are seen. A change
+ * to the block, seen on a visit or reported by a block event, resets the wait.
+ */
+public class FarmPlots {
+
+  private static final int MIN_DELAY = 20;
+
+  private static final Map<World, Set<TileFarmStation>> farms = new WeakHashMap<World, Set<TileFarmStation>>();
+
+  public static class EventHandler {
+
+    @SubscribeEvent
+    public void onBreak(BlockEvent.BreakEvent evt) {
+      blockChanged(evt.world, evt.x, evt.y, evt.z);
+    }
+
+    @SubscribeEvent
+    public void onPlace(BlockEvent.PlaceEvent evt) {
+      blockChanged(evt.world, evt.x, evt.y, evt.z);
+    }
+
+  }
+
+  static synchronized void register(TileFarmStation farm) {
+    Set<TileFarmStation> inWorld = farms.get(farm.getWorldObj());
+    if(inWorld == null) {
+      inWorld = Collections.newSetFromMap(new WeakHashMap<TileFarmStation, Boolean>());
+      farms.put(farm.getWorldObj(), inWorld);
+    }
+    inWorld.add(farm);
+  }
+
+  static synchronized void unregister(TileFarmStation farm) {
+    Set<TileFarmStation> inWorld = farms.get(farm.getWorldObj());
+    if(inWorld != null) {
+      inWorld.remove(farm);
+    }
+  }
+
+  private static synchronized void blockChanged(World world, int x, int y, int z) {
+    Set<TileFarmStation> inWorld = farms.get(world);
+    if(inWorld == null || inWorld.isEmpty()) {
+      return;
+    }
+    for (TileFarmStation farm : inWorld) {
+      farm.plotChanged(x, y, z);
+    }
+  }
+
+  static class Plot {
+
+    final int index;
+    final BlockCoord bc;
+
+    Block block;
+    int meta = -1;
+    IFarmerJoe farmer;
+    int delay;
+    long due;
+
+    Plot(int index, BlockCoord bc) {
+      this.index = index;
+      this.bc = bc;
+    }
+
+    /**
+     * @return the farmer that last harvested this plot, if the block is still
+     *         the same kind
+     */
+    IFarmerJoe getFarmer(Block current) {
+      return current == block ? farmer : null;
+    }
+  }
+
+  private static final Comparator<Plot> DUE_ORDER = new Comparator<Plot>() {
+    @Override
+    public int compare(Plot a, Plot b) {
+      if(a.due != b.due) {
+        return a.due < b.due ? -1 : 1;
+      }
+      return a.index - b.index;
+    }
+  };
+
+  private final BlockCoord center;
+  private final int size;
+  private final Plot[] plots;
+  private final PriorityQueue<Plot> queue;
+  private final int maxDelay;
+
+  FarmPlots(BlockCoord center, int size) {
+    this.center = center;
+    this.size = size;
+    int width = size * 2 + 1;
+    plots = new Plot[width * width];
+    maxDelay = Math.max(MIN_DELAY, 2 * plots.length);
+    queue = new PriorityQueue<Plot>(plots.length, DUE_ORDER);
+    for (int i = 0; i < plots.length; i++) {
+      plots[i] = new Plot(i, new BlockCoord(center.x - size + i % width, center.y, center.z - size + i / width));
+      if(!plots[i].bc.equals(center)) { //don't try and harvest ourselves
+        queue.add(plots[i]);
+      }
+    }
+  }
+
+  int getSize() {
+    return size;
+  }
+
+  /**
+   * @return the next plot that is due, or null if there is none yet
+   */
+  Plot poll(long now) {
+    Plot next = queue.peek();
+    if(next == null || next.due > now) {
+      return null;
+    }
+    return queue.poll();
+  }
+
+  /**
+   * Requeues a plot after a visit. Busy plots are due again straight away,
+   * others wait, for longer each time the block is found unchanged.
+   */
+  void visited(Plot plot, Block block, int meta, boolean busy, long now) {
+    boolean changed = block != plot.block || meta != plot.meta;
+    if(block != plot.block) {
+      plot.farmer = null;
+    }
+    plot.block = block;
+    plot.meta = meta;
+    if(busy) {
+      plot.delay = 0;
+    } else if(changed || plot.delay == 0) {
+      plot.delay = MIN_DELAY;
+    } else {
+      plot.delay = Math.min(maxDelay, plot.delay * 2);
+    }
+    plot.due = now + plot.delay;
+    queue.add(plot);
+  }
+
+  /**
+   * Requeues a plot that could not be visited, without touching its wait.
+   */
+  void retry(Plot plot, long now) {
+    plot.due = now + MIN_DELAY;
+    queue.add(plot);
+  }
+
+  void changed(int x, int z, long now) {
+    int dx = x - center.x + size;
+    int dz = z - center.z + size;
+    int width = size * 2 + 1;
+    if(dx < 0 || dz < 0 || dx >= width || dz >= width) {
+      return;
+    }
+    Plot plot = plots[dz * width + dx];
+    if(queue.remove(plot)) {
+      plot.delay = 0;
+      plot.due = now;
+      queue.add(plot);
+    }
+  }
+
+  /**
+   * Makes every plot due, for when new seeds or tools may let the farm act on
+   * plots it had given up on.
+   */
+  void wakeAll(long now) {
+    queue.clear();
+    for (Plot plot : plots) {
+      if(!plot.bc.equals(center)) {
+        plot.delay = 0;
+        plot.due = now;
+        queue.add(plot);
+      }
+    }
+  }
+
+}
@@ -28,6 +28,7 @@ import crazypants.enderio.machine.IMachineRecipe.ResultStack;
 import crazypants.enderio.machine.IPoweredTask;
 import crazypants.enderio.machine.SlotDefinition;
 import crazypants.enderio.machine.farm.farmers.FarmersCommune;
+import crazypants.enderio.machine.farm.farmers.IFarmerJoe;
 import crazypants.enderio.machine.farm.farmers.IHarvestResult;
 import crazypants.enderio.machine.farm.farmers.RubberTreeFarmerIC2;
 import crazypants.enderio.network.PacketHandler;
@@ -113,7 +114,9 @@ public class TileFarmStation extends AbstractPoweredTaskEntity {
   public static final String NOTIFICATION_NO_AXE = "noAxe";
   public static final String NOTIFICATION_NO_SEEDS = "noSeeds";
 
-  private BlockCoord lastScanned;
+  private FarmPlots plots;
+  // Set when supplies or tools arrive, so plots that were given up on are retried
+  private boolean wakePlots = false;
   private EntityPlayerMP farmerJoe;
 
   public static final int NUM_TOOL_SLOTS = 3;
@@ -408,17 +411,21 @@ public class TileFarmStation extends AbstractPoweredTaskEntity {
       clearNotification();
     }
 
-    BlockCoord bc = getNextCoord();
-    if(bc != null && bc.equals(getLocation())) { //don't try and harvest ourselves
-      bc = getNextCoord();
+    long now = worldObj.getTotalWorldTime();
+    FarmPlots farmPlots = getPlots();
+    if(wakePlots) {
+      wakePlots = false;
+      farmPlots.wakeAll(now);
     }
-    if(bc == null) {
+    FarmPlots.Plot plot = farmPlots.poll(now);
+    if(plot == null) {
       return;
     }
-    lastScanned = bc;
+    BlockCoord bc = plot.bc;
 
     Block block = worldObj.getBlock(bc.x, bc.y, bc.z);
     if(block == null) {
+      farmPlots.retry(plot, now);
       return;
     }
     int meta = worldObj.getBlockMetadata(bc.x, bc.y, bc.z);
@@ -426,23 +433,26 @@ public class TileFarmStation extends AbstractPoweredTaskEntity {
       farmerJoe = new FakeFarmPlayer(MinecraftServer.getServer().worldServerForDimension(worldObj.provider.dimensionId));
     }
 
+    boolean busy = false;
     if(isOpen(bc)) {
-      FarmersCommune.instance.prepareBlock(this, bc, block, meta);
+      busy = FarmersCommune.instance.prepareBlock(this, bc, block, meta);
       block = worldObj.getBlock(bc.x, bc.y, bc.z);
     }
 
     if(isOutputFull()) {
       setNotification("outputFull");
+      farmPlots.retry(plot, now);
       return;
     }
 
     if(!hasPower() && Config.farmActionEnergyUseRF > 0 && Config.farmAxeActionEnergyUseRF > 0) {
       setNotification("noPower");
+      farmPlots.retry(plot, now);
       return;
     }
 
     if(!isOpen(bc)) {
-      IHarvestResult harvest = FarmersCommune.instance.harvestBlock(this, bc, block, meta);
+      IHarvestResult harvest = harvestBlock(plot, block, meta);
       if(harvest != null && harvest.getDrops() != null) {
         PacketFarmAction pkt = new PacketFarmAction(harvest.getHarvestedBlocks());
         PacketHandler.INSTANCE.sendToAllAround(pkt, new TargetPoint(worldObj.provider.dimensionId, bc.x, bc.y, bc.z, 64));
@@ -454,12 +464,14 @@ public class TileFarmStation extends AbstractPoweredTaskEntity {
             }
           }
         }
+        farmPlots.visited(plot, worldObj.getBlock(bc.x, bc.y, bc.z), worldObj.getBlockMetadata(bc.x, bc.y, bc.z), true, now);
         return;
       }
     }
 
     if(!hasPower() && (Config.farmBonemealActionEnergyUseRF > 0 || Config.farmBonemealTryEnergyUseRF > 0)) {
       setNotification("noPower");
+      farmPlots.retry(plot, now);
       return;
     }
 
@@ -483,6 +495,69 @@ public class TileFarmStation extends AbstractPoweredTaskEntity {
         farmerJoe.inventory.mainInventory[0] = null;
       }
     }
+
+    // While there is fertilizer keep coming back to growing plots to use it on them
+    busy |= hasBonemeal();
+    farmPlots.visited(plot, worldObj.getBlock(bc.x, bc.y, bc.z), worldObj.getBlockMetadata(bc.x, bc.y, bc.z), busy, now);
+  }
+
+  /**
+   * Harvests the plot with the farmer that harvested the same kind of block
+   * there before, falling back to asking all of them.
+   */
+  private IHarvestResult harvestBlock(FarmPlots.Plot plot, Block block, int meta) {
+    IFarmerJoe joe = plot.getFarmer(block);
+    if(joe == null || !FarmersCommune.instance.canHarvestWith(joe, this, plot.bc, block, meta)) {
+      joe = FarmersCommune.instance.getHarvester(this, plot.bc, block, meta);
+      if(joe == null) {
+        return null;
+      }
+      plot.block = block;
+      plot.farmer = joe;
+    }
+    return joe.harvestBlock(this, plot.bc, block, meta);
+  }
+
+  private FarmPlots getPlots() {
+    int size = getFarmSize();
+    if(plots == null || plots.getSize() != size) {
+      plots = new FarmPlots(getLocation(), size);
+    }
+    return plots;
+  }
+
+  void plotChanged(int x, int y, int z) {
+    if(plots != null && Math.abs(y - yCoord) <= 1) {
+      plots.changed(x, z, worldObj.getTotalWorldTime());
+    }
+  }
+
+  @Override
+  public void validate() {
+    super.validate();
+    if(worldObj != null && !worldObj.isRemote) {
+      FarmPlots.register(this);
+    }
+  }
+
+  @Override
+  public void invalidate() {
+    super.invalidate();
+    FarmPlots.unregister(this);
+  }
+
+  @Override
+  public void onChunkUnload() {
+    super.onChunkUnload();
+    FarmPlots.unregister(this);
+  }
+
+  @Override
+  public void setInventorySlotContents(int slot, ItemStack contents) {
+    if(slot <= maxSupSlot && inventory[slot] == null && contents != null) {
+      wakePlots = true;
+    }
+    super.setInventorySlotContents(slot, contents);
   }
 
   private int bonemealCooldown = 5; // no need to persist this
@@ -651,29 +726,6 @@ public class TileFarmStation extends AbstractPoweredTaskEntity {
 
   }
 
-  private BlockCoord getNextCoord() {
-
-    int size = getFarmSize();
-
-    BlockCoord loc = getLocation();
-    if(lastScanned == null) {
-      lastScanned = new BlockCoord(loc.x - size, loc.y, loc.z - size);
-      return lastScanned;
-    }
-
-    int nextX = lastScanned.x + 1;
-    int nextZ = lastScanned.z;
-    if(nextX > loc.x + size) {
-      nextX = loc.x - size;
-      nextZ += 1;
-      if(nextZ > loc.z + size) {
-        lastScanned = null;
-        return getNextCoord();
-      }
-    }
-    return new BlockCoord(nextX, lastScanned.y, nextZ);
-  }
-
   public void toggleLockedState(int slot) {
     if (worldObj.isRemote) {
       PacketHandler.INSTANCE.sendToServer(new PacketFarmLockedSlot(this, slot));
@@ -45,15 +45,29 @@ public class FarmersCommune implements IFarmerJoe {
 
   @Override
   public IHarvestResult harvestBlock(TileFarmStation farm, BlockCoord bc, Block block, int meta) {
+    IFarmerJoe joe = getHarvester(farm, bc, block, meta);
+    if(joe != null) {
+      return joe.harvestBlock(farm, bc, block, meta);
+    }
+    return null;
+  }
+
+  /**
+   * Returns the farmer that would harvest the block, or null if none can.
+   */
+  public IFarmerJoe getHarvester(TileFarmStation farm, BlockCoord bc, Block block, int meta) {
     for (IFarmerJoe joe : farmers) {
-      if (ignoreTreeHarvest(farm, bc, joe)) continue;
-      if (joe.canHarvest(farm, bc, block, meta)) {
-        return joe.harvestBlock(farm, bc, block, meta);
+      if (canHarvestWith(joe, farm, bc, block, meta)) {
+        return joe;
       }
     }
     return null;
   }
 
+  public boolean canHarvestWith(IFarmerJoe joe, TileFarmStation farm, BlockCoord bc, Block block, int meta) {
+    return !ignoreTreeHarvest(farm, bc, joe) && joe.canHarvest(farm, bc, block, meta);
+  }
+
   @Override
   public boolean prepareBlock(TileFarmStation farm, BlockCoord bc, Block block, int meta) {
     for (IFarmerJoe joe : farmers) {
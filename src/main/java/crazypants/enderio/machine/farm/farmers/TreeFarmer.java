@@ -4,6 +4,8 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
 
 import net.minecraft.block.Block;
 import net.minecraft.entity.item.EntityItem;
@@ -24,11 +26,15 @@ public class TreeFarmer implements IFarmerJoe {
 
   private static final HeightComparator comp = new HeightComparator();
 
+  /** Ticks after which an unfinished tree is searched again */
+  private static final int FELLING_TIMEOUT = 100;
+
   protected Block sapling;
   protected ItemStack saplingItem;
   protected Block[] woods;
   
   protected TreeHarvestUtil harvester = new TreeHarvestUtil();
+  private final Map<TileFarmStation, Felling> fellings = new WeakHashMap<TileFarmStation, Felling>();
   private boolean ignoreMeta;
 
   public TreeFarmer(Block sapling, Block... wood) {
@@ -112,38 +118,56 @@ public class TreeFarmer implements IFarmerJoe {
       return null;
     }
 
-    HarvestResult res = new HarvestResult();
-    harvester.harvest(farm, this, bc, res);
-    Collections.sort(res.harvestedBlocks, comp);
+    World world = farm.getWorldObj();
+    long now = world.getTotalWorldTime();
+    Felling felling = fellings.remove(farm);
+    if(felling == null || !felling.base.equals(bc) || now - felling.lastTick > FELLING_TIMEOUT) {
+      HarvestResult found = new HarvestResult();
+      harvester.harvest(farm, this, bc, found);
+      Collections.sort(found.harvestedBlocks, comp);
+      // Fell the base last so the plot keeps pointing at the tree until it is gone
+      if(found.harvestedBlocks.remove(bc)) {
+        found.harvestedBlocks.add(bc);
+      }
+      felling = new Felling(bc, found.harvestedBlocks);
+    }
+    List<BlockCoord> targets = felling.blocks;
 
-    List<BlockCoord> actualHarvests = new ArrayList<BlockCoord>();
+    HarvestResult res = new HarvestResult();
 
     // avoid calling this in a loop
     boolean hasShears = farm.hasShears();
     int noShearingPercentage = farm.isLowOnSaplings(bc);
-    int shearCount = 0;
 
-    for (int i = 0; i < res.harvestedBlocks.size() && hasAxe; i++) {
-      BlockCoord coord = res.harvestedBlocks.get(i);
+    long deadline = System.nanoTime() + Config.farmTreeHarvestTimeBudgetMs * 1000000L;
+    while (felling.next < targets.size() && hasAxe) {
+      if(!res.harvestedBlocks.isEmpty() && System.nanoTime() > deadline) {
+        break;
+      }
+      BlockCoord coord = targets.get(felling.next++);
       Block blk = farm.getBlock(coord);
+      if(blk.isAir(world, coord.x, coord.y, coord.z)) {
+        // already gone since the tree was found
+        continue;
+      }
 
       ArrayList<ItemStack> drops;
       boolean wasSheared = false;
       boolean wasAxed = false;
       boolean wasWood = isWood(blk);
       
-      if (blk instanceof IShearable && hasShears && ((shearCount / res.harvestedBlocks.size() + noShearingPercentage) < 100)) {
-        drops = ((IShearable)blk).onSheared(null, farm.getWorldObj(), coord.x, coord.y, coord.z, 0);
+      if (blk instanceof IShearable && hasShears && ((felling.shearCount / targets.size() + noShearingPercentage) < 100)) {
+        drops = ((IShearable)blk).onSheared(null, world, coord.x, coord.y, coord.z, 0);
         wasSheared = true;
-        shearCount += 100;
+        felling.shearCount += 100;
       } else {
-        drops = blk.getDrops(farm.getWorldObj(), coord.x, coord.y, coord.z, farm.getBlockMeta(coord), farm.getAxeLootingValue());
+        drops = blk.getDrops(world, coord.x, coord.y, coord.z, farm.getBlockMeta(coord), farm.getAxeLootingValue());
         wasAxed = true;
       }
       
       if(drops != null) {
         for (ItemStack drop : drops) {
-          res.drops.add(new EntityItem(farm.getWorldObj(), bc.x + 0.5, bc.y + 0.5, bc.z + 0.5, drop.copy()));
+          res.drops.add(new EntityItem(world, bc.x + 0.5, bc.y + 0.5, bc.z + 0.5, drop.copy()));
         }
       }
 
@@ -151,8 +175,8 @@ public class TreeFarmer implements IFarmerJoe {
         wasAxed = Config.farmAxeDamageOnLeafBreak;
         int leaveMeta = farm.getBlockMeta(coord);
         if(TreeHarvestUtil.canDropApples(blk, leaveMeta)) {
-          if(farm.getWorldObj().rand.nextInt(200) == 0) {
-            res.drops.add(new EntityItem(farm.getWorldObj(), bc.x + 0.5, bc.y + 0.5, bc.z + 0.5, new ItemStack(Items.apple)));
+          if(world.rand.nextInt(200) == 0) {
+            res.drops.add(new EntityItem(world, bc.x + 0.5, bc.y + 0.5, bc.z + 0.5, new ItemStack(Items.apple)));
           }
         }
       }
@@ -166,16 +190,16 @@ public class TreeFarmer implements IFarmerJoe {
         hasShears = farm.hasShears();
       }
       
-      farm.getWorldObj().setBlockToAir(coord.x, coord.y, coord.z);
-      actualHarvests.add(coord);
+      world.setBlockToAir(coord.x, coord.y, coord.z);
+      res.harvestedBlocks.add(coord);
     }
     
     if (!hasAxe) {
       farm.setNotification(TileFarmStation.NOTIFICATION_NO_AXE);
+    } else if(felling.next < targets.size()) {
+      felling.lastTick = now;
+      fellings.put(farm, felling);
     }
-    
-    res.harvestedBlocks.clear();
-    res.harvestedBlocks.addAll(actualHarvests);
 
     return res;
   }
@@ -185,6 +209,24 @@ public class TreeFarmer implements IFarmerJoe {
     return ignoreMeta;
   }
 
+  /**
+   * A tree that did not fit into one tick's time budget, continued the next
+   * time the farm visits its base.
+   */
+  private static class Felling {
+
+    final BlockCoord base;
+    final List<BlockCoord> blocks;
+    int next;
+    int shearCount;
+    long lastTick;
+
+    Felling(BlockCoord base, List<BlockCoord> blocks) {
+      this.base = base;
+      this.blocks = blocks;
+    }
+  }
+
   private static class HeightComparator implements Comparator<BlockCoord> {
 
     @Override
@@ -1,5 +1,14 @@
 package crazypants.enderio.machine.farm.farmers;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockLeaves;
 import net.minecraft.block.BlockNewLeaf;
@@ -11,8 +20,24 @@ import com.enderio.core.common.util.BlockCoord;
 
 import crazypants.enderio.machine.farm.TileFarmStation;
 
+/**
+ * Finds the blocks of a tree with a flood fill up and sideways from its base
+ * log, bounded to a box around the origin. Logs are followed anywhere in the
+ * box. Leaves are only taken up to {@link #LEAF_REACH} blocks outside the
+ * largest tree of the same wood type and meta seen so far (or this one, if it
+ * is bigger), so a forest canopy is not stripped along with the tree.
+ */
 public class TreeHarvestUtil {
 
+  /** Vanilla leaves decay further than this from a log */
+  private static final int LEAF_REACH = 4;
+
+  private static final ForgeDirection[] VALID_UP = { ForgeDirection.UP, ForgeDirection.NORTH, ForgeDirection.SOUTH, ForgeDirection.WEST,
+      ForgeDirection.EAST };
+  private static final ForgeDirection[] HORIZONTALS = { ForgeDirection.NORTH, ForgeDirection.SOUTH, ForgeDirection.WEST, ForgeDirection.EAST };
+
+  private static final Map<Block, TreeShape[]> shapes = new HashMap<Block, TreeShape[]>();
+
   public static boolean canDropApples(Block block, int meta) {
     return 
         (block instanceof BlockOldLeaf && (meta == 0 || meta == 8)) || //oak
@@ -38,7 +63,7 @@ public class TreeHarvestUtil {
     origin = new BlockCoord(bc);
     Block wood = world.getBlock(bc.x, bc.y, bc.z);
     int woodMeta = world.getBlockMetadata(bc.x, bc.y, bc.z);
-    harvestUp(world, bc, res, new HarvestTarget(wood, woodMeta));
+    harvest(world, bc, res, new HarvestTarget(wood, woodMeta));
   }
   
   private void harvest(World world, BlockCoord origin, BlockCoord bc, HarvestResult res, boolean ignoreMeta) {
@@ -47,56 +72,106 @@ public class TreeHarvestUtil {
     int woodMeta = world.getBlockMetadata(bc.x, bc.y, bc.z);
     if (ignoreMeta)
     {
-      harvestUp(world, bc, res, new BaseHarvestTarget(wood));
+      harvest(world, bc, res, new BaseHarvestTarget(wood));
     }
     else
     {
-      harvestUp(world, bc, res, new HarvestTarget(wood, woodMeta));
+      harvest(world, bc, res, new HarvestTarget(wood, woodMeta));
     }
   }
   
-  protected void harvestUp(World world, BlockCoord bc, HarvestResult res, BaseHarvestTarget target) {
-
-    if(!isInHarvestBounds(bc) || res.harvestedBlocks.contains(bc)) {
-      return;
-    }
-
-    Block blk = world.getBlock(bc.x, bc.y,bc.z);
-    boolean isLeaves = blk instanceof BlockLeaves;
-    if(target.isTarget(blk, world.getBlockMetadata(bc.x, bc.y, bc.z)) || isLeaves) {
-      res.harvestedBlocks.add(bc);
-      for (ForgeDirection dir : ForgeDirection.VALID_DIRECTIONS) {
-        if(dir != ForgeDirection.DOWN) {
-          harvestUp(world, bc.getLocation(dir), res, target);
+  private void harvest(World world, BlockCoord bc, HarvestResult res, BaseHarvestTarget target) {
+    int width = horizontalRange * 2 + 1;
+    BitSet visited = new BitSet(width * width * (verticalRange * 2 + 1));
+    Deque<BlockCoord> open = new ArrayDeque<BlockCoord>();
+    List<BlockCoord> deferred = new ArrayList<BlockCoord>();
+
+    TreeShape shape = getShape(target);
+    int radius = shape.radius;
+    int height = shape.height;
+    int logRadius = 0;
+    int logHeight = 0;
+
+    visit(bc, visited, open);
+    while (!open.isEmpty()) {
+      BlockCoord loc = open.pop();
+      Block blk = world.getBlock(loc.x, loc.y, loc.z);
+      if(target.isTarget(blk, world.getBlockMetadata(loc.x, loc.y, loc.z))) {
+        res.harvestedBlocks.add(loc);
+        int r = Math.max(Math.abs(loc.x - bc.x), Math.abs(loc.z - bc.z));
+        int h = loc.y - bc.y;
+        logRadius = Math.max(logRadius, r);
+        logHeight = Math.max(logHeight, h);
+        if(r > radius || h > height) {
+          radius = Math.max(radius, r);
+          height = Math.max(height, h);
+          // The tree is bigger than expected, pick up the leaves it now reaches
+          for (Iterator<BlockCoord> it = deferred.iterator(); it.hasNext();) {
+            BlockCoord leaf = it.next();
+            if(isInLeafBounds(bc, leaf, radius, height)) {
+              it.remove();
+              open.push(leaf);
+            }
+          }
         }
-      }
-    } else {
-      // check the sides for connected wood
-      harvestAdjacentWood(world, bc, res, target);
-      //and another check for large oaks, where wood can be surrounded by leaves
-      for (ForgeDirection dir : ForgeDirection.VALID_DIRECTIONS) {
-        if(dir.offsetY == 0) {
-          BlockCoord loc = bc.getLocation(dir);
-          Block targetBlock = world.getBlock(loc.x,loc.y,loc.z);
-          if(targetBlock instanceof BlockLeaves) {
-            harvestAdjacentWood(world, bc, res, target);
+        visitAbove(loc, visited, open);
+      } else if(blk instanceof BlockLeaves) {
+        if(isInLeafBounds(bc, loc, radius, height)) {
+          res.harvestedBlocks.add(loc);
+          visitAbove(loc, visited, open);
+        } else {
+          deferred.add(loc);
+        }
+      } else {
+        // check the sides for connected wood, e.g. large oaks where wood can be
+        // surrounded by leaves
+        for (ForgeDirection dir : HORIZONTALS) {
+          int x = loc.x + dir.offsetX;
+          int z = loc.z + dir.offsetZ;
+          if(target.isTarget(world.getBlock(x, loc.y, z), world.getBlockMetadata(x, loc.y, z))) {
+            visit(new BlockCoord(x, loc.y, z), visited, open);
           }
         }
       }
     }
+    shape.grow(logRadius, logHeight);
+  }
 
+  private void visitAbove(BlockCoord bc, BitSet visited, Deque<BlockCoord> open) {
+    // pushed in reverse so up is searched first
+    for (int i = VALID_UP.length - 1; i >= 0; i--) {
+      visit(bc.getLocation(VALID_UP[i]), visited, open);
+    }
   }
 
-  private void harvestAdjacentWood(World world, BlockCoord bc, HarvestResult res, BaseHarvestTarget target) {
-    for (ForgeDirection dir : ForgeDirection.VALID_DIRECTIONS) {
-      if(dir.offsetY == 0) {
-        BlockCoord loc = bc.getLocation(dir);
-        Block targetBlock = world.getBlock(loc.x, loc.y, loc.z);
-        if(target.isTarget(targetBlock, world.getBlockMetadata(loc.x, loc.y, loc.z))) {
-          harvestUp(world, bc.getLocation(dir), res, target);
-        }
-      }
+  private void visit(BlockCoord bc, BitSet visited, Deque<BlockCoord> open) {
+    if(!isInHarvestBounds(bc)) {
+      return;
     }
+    int width = horizontalRange * 2 + 1;
+    int index = ((bc.y - origin.y + verticalRange) * width + (bc.z - origin.z + horizontalRange)) * width + (bc.x - origin.x + horizontalRange);
+    if(!visited.get(index)) {
+      visited.set(index);
+      open.push(bc);
+    }
+  }
+
+  private static boolean isInLeafBounds(BlockCoord base, BlockCoord bc, int radius, int height) {
+    return Math.abs(bc.x - base.x) <= radius + LEAF_REACH && Math.abs(bc.z - base.z) <= radius + LEAF_REACH
+        && bc.y - base.y <= height + LEAF_REACH;
+  }
+
+  private static synchronized TreeShape getShape(BaseHarvestTarget target) {
+    TreeShape[] byMeta = shapes.get(target.wood);
+    if(byMeta == null) {
+      byMeta = new TreeShape[5];
+      shapes.put(target.wood, byMeta);
+    }
+    int index = target.getShapeIndex();
+    if(byMeta[index] == null) {
+      byMeta[index] = new TreeShape();
+    }
+    return byMeta[index];
   }
 
   private boolean isInHarvestBounds(BlockCoord bc) {
@@ -128,6 +203,11 @@ public class TreeHarvestUtil {
     boolean isTarget(Block blk, int meta) {
       return super.isTarget(blk,meta) && ((meta & 3) == (woodMeta & 3));
     }
+
+    @Override
+    int getShapeIndex() {
+      return woodMeta & 3;
+    }
   }
 
   private static class BaseHarvestTarget
@@ -141,6 +221,25 @@ public class TreeHarvestUtil {
     boolean isTarget(Block blk, int meta) {
       return blk == wood;
     }
+
+    int getShapeIndex() {
+      return 4;
+    }
+  }
+
+  /**
+   * Largest extent of the logs of a kind of tree seen so far, measured from the
+   * base log.
+   */
+  private static class TreeShape {
+
+    volatile int radius;
+    volatile int height;
+
+    synchronized void grow(int r, int h) {
+      radius = Math.max(radius, r);
+      height = Math.max(height, h);
+    }
   }
 
 }
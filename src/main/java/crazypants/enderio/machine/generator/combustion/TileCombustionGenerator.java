@@ -21,6 +21,7 @@ import crazypants.enderio.fluid.IFluidCoolant;
 import crazypants.enderio.fluid.IFluidFuel;
 import crazypants.enderio.machine.IoMode;
 import crazypants.enderio.machine.SlotDefinition;
+import crazypants.enderio.machine.Synced;
 import crazypants.enderio.machine.generator.AbstractGeneratorEntity;
 import crazypants.enderio.network.PacketHandler;
 import crazypants.enderio.power.PowerDistributor;
@@ -33,10 +34,12 @@ public class TileCombustionGenerator extends AbstractGeneratorEntity implements
 
   private int ticksRemaingFuel;
   private int ticksRemaingCoolant;
+  @Synced
   private boolean active;
 
   private PowerDistributor powerDis;
 
+  @Synced
   private int generated;
 
   private boolean inPause = false;
@@ -14,6 +14,7 @@ import com.enderio.core.common.util.BlockCoord;
 import crazypants.enderio.ModObject;
 import crazypants.enderio.config.Config;
 import crazypants.enderio.machine.SlotDefinition;
+import crazypants.enderio.machine.Synced;
 import crazypants.enderio.machine.generator.AbstractGeneratorEntity;
 import crazypants.enderio.network.PacketHandler;
 import crazypants.enderio.power.Capacitors;
@@ -27,7 +28,9 @@ public class TileEntityStirlingGenerator extends AbstractGeneratorEntity impleme
   public static final String SOUND_NAME = "generator.stirling";
 
   /** How many ticks left until the item is burnt. */
+  @Synced
   public int burnTime = 0;
+  @Synced
   public int totalBurnTime;
 
   private PowerDistributor powerDis;
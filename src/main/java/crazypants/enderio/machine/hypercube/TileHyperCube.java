@@ -34,6 +34,8 @@ import crazypants.enderio.machine.RedstoneControlMode;
 import crazypants.enderio.power.BasicCapacitor;
 import crazypants.enderio.power.IInternalPowerHandler;
 import crazypants.enderio.power.IPowerInterface;
+import crazypants.enderio.power.PowerEndpoint;
+import crazypants.enderio.power.PowerEndpointCache;
 import crazypants.enderio.power.PowerHandlerUtil;
 
 public class TileHyperCube extends TileEntityEio implements IInternalPowerHandler, IFluidHandler, ISidedInventory, IRedstoneModeControlable {
@@ -362,13 +364,14 @@ public class TileHyperCube extends TileEntityEio implements IInternalPowerHandle
       receptorIterator = receptors.listIterator();
     }
 
+    long now = worldObj.getTotalWorldTime();
     int appliedCount = 0;
     int numReceptors = receptors.size();
     while (receptorIterator.hasNext() && canTransmit > 0 && appliedCount < numReceptors) {
       Receptor receptor = receptorIterator.next();
-      IPowerInterface pp = receptor.receptor;
-      if(pp != null && pp.getMinEnergyReceived(receptor.fromDir.getOpposite()) <= canTransmit) {
-        float used = pp.recieveEnergy(receptor.fromDir.getOpposite(), canTransmit);
+      IPowerInterface pp = receptor.endpoint.getPowerInterface();
+      if(pp.getMinEnergyReceived(receptor.fromDir.getOpposite()) <= canTransmit) {
+        float used = receptor.endpoint.offer(receptor.fromDir.getOpposite(), canTransmit, now);
         transmitted += used;
         canTransmit -= used;
       }
@@ -465,13 +468,11 @@ public class TileHyperCube extends TileEntityEio implements IInternalPowerHandle
       return;
     }
     receptors.clear();
-    BlockCoord myLoc = new BlockCoord(this);
     for (ForgeDirection dir : ForgeDirection.VALID_DIRECTIONS) {
-      BlockCoord checkLoc = myLoc.getLocation(dir);
-      TileEntity te = worldObj.getTileEntity(checkLoc.x, checkLoc.y, checkLoc.z);
-      IPowerInterface pi = PowerHandlerUtil.create(te);
-      if(pi != null) {
-        receptors.add(new Receptor(pi, dir));
+      PowerEndpoint endpoint = PowerEndpointCache.getEndpoint(worldObj, xCoord + dir.offsetX, yCoord + dir.offsetY, zCoord + dir.offsetZ);
+      if(endpoint != null) {
+        endpoint.resetBackoff();
+        receptors.add(new Receptor(endpoint, dir));
       }
     }
     receptorIterator = receptors.listIterator();
@@ -868,11 +869,11 @@ public class TileHyperCube extends TileEntityEio implements IInternalPowerHandle
   }
 
   static class Receptor {
-    IPowerInterface receptor;
+    PowerEndpoint endpoint;
     ForgeDirection fromDir;
 
-    private Receptor(IPowerInterface rec, ForgeDirection fromDir) {
-      receptor = rec;
+    private Receptor(PowerEndpoint endpoint, ForgeDirection fromDir) {
+      this.endpoint = endpoint;
       this.fromDir = fromDir;
     }
   }
@@ -105,6 +105,13 @@ public class GuiInventoryPanel extends GuiMachineBase<TileInventoryPanel> {
 
     this.view = new DatabaseView();
 
+    InventoryDatabaseClient db = te.getDatabaseClient();
+    if(db != null) {
+      PacketHandler.INSTANCE.sendToServer(new PacketSubscribeItemList(te, db.getGeneration(), db.getSyncSeq()));
+    } else {
+      PacketHandler.INSTANCE.sendToServer(new PacketSubscribeItemList(te, -1, -1));
+    }
+
     int sortMode = te.getGuiSortMode();
     int sortOrderIdx = sortMode >> 1;
     SortOrder[] orders = SortOrder.values();
@@ -227,6 +234,7 @@ public class GuiInventoryPanel extends GuiMachineBase<TileInventoryPanel> {
       sortMode |= 1;
     }
     getTileEntity().setGuiParameter(sortMode, tfFilter.getText(), btnSync.isSelected());
+    view.setDatabase(null);
     super.onGuiClosed();
   }
 
@@ -194,20 +194,40 @@ public class InventoryPanelContainer extends AbstractMachineContainer<TileInvent
     if(changedItems != null) {
       InventoryDatabaseServer db = getInventoryPanel().getDatabaseServer();
       if(db != null) {
+        // The item list itself is sent once the client subscribes
         db.addChangeLog(this);
-        if(crafting instanceof EntityPlayerMP) {
-          try {
-            byte[] compressed = db.compressItemList();
-            PacketItemList pil = new PacketItemList(getInventoryPanel(), db.getGeneration(), compressed);
-            PacketHandler.sendTo(pil, (EntityPlayerMP) crafting);
-          } catch (IOException ex) {
-            Logger.getLogger(InventoryPanelContainer.class.getName()).log(Level.SEVERE, "Exception while compressing item list", ex);
-          }
-        }
       }
     }
   }
 
+  /**
+   * Sends the client either the full item list or, if it still holds the
+   * current database generation, just the entries changed since its last
+   * sync.
+   */
+  public void subscribe(EntityPlayerMP player, int generation, int syncSeq) {
+    if(changedItems == null) {
+      return;
+    }
+    InventoryDatabaseServer db = getInventoryPanel().getDatabaseServer();
+    if(db == null) {
+      return;
+    }
+    try {
+      byte[] compressed;
+      if(generation == db.getGeneration() && syncSeq >= 0 && syncSeq <= db.getSyncSeq()) {
+        compressed = db.compressItemsChangedSince(syncSeq);
+      } else {
+        compressed = db.compressItemList();
+      }
+      if(compressed != null) {
+        PacketHandler.sendTo(new PacketItemList(getInventoryPanel(), db.getGeneration(), compressed), player);
+      }
+    } catch (IOException ex) {
+      Logger.getLogger(InventoryPanelContainer.class.getName()).log(Level.SEVERE, "Exception while compressing item list", ex);
+    }
+  }
+
   @Override
   public void onCraftMatrixChanged(IInventory inv) {
     InventoryCrafting tmp = new InventoryCrafting(new Container() {
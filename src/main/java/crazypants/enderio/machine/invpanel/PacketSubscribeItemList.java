@@ -0,0 +1,58 @@
+package crazypants.enderio.machine.invpanel;
+
+import io.netty.buffer.ByteBuf;
+import net.minecraft.entity.player.EntityPlayerMP;
+
+import com.enderio.core.common.network.MessageTileEntity;
+
+import cpw.mods.fml.common.network.simpleimpl.IMessage;
+import cpw.mods.fml.common.network.simpleimpl.IMessageHandler;
+import cpw.mods.fml.common.network.simpleimpl.MessageContext;
+
+/**
+ * Sent by the client when it opens an inventory panel, telling the server which
+ * database generation and sync sequence it already holds so only the changes
+ * since then need to be sent.
+ */
+public class PacketSubscribeItemList extends MessageTileEntity<TileInventoryPanel> implements IMessageHandler<PacketSubscribeItemList, IMessage> {
+
+  private int generation;
+  private int syncSeq;
+
+  public PacketSubscribeItemList() {
+  }
+
+  public PacketSubscribeItemList(TileInventoryPanel tile, int generation, int syncSeq) {
+    super(tile);
+    this.generation = generation;
+    this.syncSeq = syncSeq;
+  }
+
+  @Override
+  public void fromBytes(ByteBuf buf) {
+    super.fromBytes(buf);
+    generation = buf.readInt();
+    syncSeq = buf.readInt();
+  }
+
+  @Override
+  public void toBytes(ByteBuf buf) {
+    super.toBytes(buf);
+    buf.writeInt(generation);
+    buf.writeInt(syncSeq);
+  }
+
+  @Override
+  public IMessage onMessage(PacketSubscribeItemList message, MessageContext ctx) {
+    EntityPlayerMP player = ctx.getServerHandler().playerEntity;
+    if(player.openContainer instanceof InventoryPanelContainer) {
+      InventoryPanelContainer ipc = (InventoryPanelContainer) player.openContainer;
+      TileInventoryPanel te = ipc.getInventoryPanel();
+      if(te.xCoord == message.x && te.yCoord == message.y && te.zCoord == message.z) {
+        ipc.subscribe(player, message.generation, message.syncSeq);
+      }
+    }
+    return null;
+  }
+
+}
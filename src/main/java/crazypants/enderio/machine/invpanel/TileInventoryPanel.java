@@ -178,8 +178,11 @@ public class TileInventoryPanel extends AbstractMachineEntity implements IFluidH
     }
 
     if(icn != null) {
-      dbServer = icn.getDatabase();
-      dbServer.sendChangeLogs();
+      InventoryDatabaseServer db = icn.getDatabase(dbServer);
+      if(dbServer != null && dbServer != db) {
+        dbServer.discardIfOrphaned();
+      }
+      dbServer = db;
       refuelPower(dbServer);
 
       if(active != dbServer.isOperational()) {
@@ -190,6 +193,9 @@ public class TileInventoryPanel extends AbstractMachineEntity implements IFluidH
       if(active) {
         forceClientUpdate = true;
       }
+      if(dbServer != null) {
+        dbServer.discardIfOrphaned();
+      }
       dbServer = null;
       active = false;
     }
@@ -6,10 +6,11 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.Locale;
 import net.minecraft.client.Minecraft;
 
-public class DatabaseView {
+public class DatabaseView implements InventoryDatabaseClient.ChangeListener {
 
   public static final Locale LOCALE;
 
@@ -26,16 +27,17 @@ public class DatabaseView {
   }
 
   private final ArrayList<ItemEntry> filteredItems;
+  private final LinkedHashSet<ItemEntry> changedEntries;
 
   private InventoryDatabaseClient database;
-  private int dbItemsChangeCount;
-  private int dbCountChangeCount;
 
   private SortOrder order = SortOrder.NAME;
   private boolean invertSortOrder;
   private boolean needsSorting;
+  private Comparator<ItemEntry> comparator;
   private IItemFilter itemFilter;
   private String currentFilter;
+  private ItemFilter filter;
   private boolean needsFiltering;
   private boolean needsNewFiltering;
 
@@ -43,16 +45,20 @@ public class DatabaseView {
 
   public DatabaseView() {
     filteredItems = new ArrayList<ItemEntry>();
+    changedEntries = new LinkedHashSet<ItemEntry>();
     currentFilter = "";
     collator = Collator.getInstance(LOCALE);
+    comparator = createComparator();
   }
 
   public void setDatabase(InventoryDatabaseClient database) {
     if(this.database != database) {
+      if(this.database != null && this.database.getChangeListener() == this) {
+        this.database.setChangeListener(null);
+      }
       this.database = database;
       if(database != null) {
-        this.dbItemsChangeCount = database.getItemsChangeCount();
-        this.dbCountChangeCount = database.getCountChangeCount();
+        database.setChangeListener(this);
       }
       this.needsSorting = true;
       this.needsFiltering = true;
@@ -60,6 +66,17 @@ public class DatabaseView {
     }
   }
 
+  @Override
+  public void entryChanged(ItemEntry entry) {
+    changedEntries.add(entry);
+  }
+
+  @Override
+  public void entriesReset() {
+    needsFiltering = true;
+    needsNewFiltering = true;
+  }
+
   public void setSortOrder(SortOrder order, boolean invert) {
     if(this.order != order || this.invertSortOrder != invert) {
       this.order = order;
@@ -100,32 +117,24 @@ public class DatabaseView {
   public boolean sortItems() {
     boolean changed = false;
 
-    if(database != null) {
-      if(dbItemsChangeCount != database.getItemsChangeCount()) {
-        dbItemsChangeCount = database.getItemsChangeCount();
-        needsSorting = true;
-        needsFiltering = true;
-        needsNewFiltering = true;
-      }
-
-      if(dbCountChangeCount != database.getCountChangeCount()) {
-        dbCountChangeCount = database.getCountChangeCount();
-        if(order == SortOrder.COUNT) {
-          needsSorting = true;
-        }
-      }
+    if(needsSorting && !changedEntries.isEmpty()) {
+      // a full sort follows anyway, so start from the current item list
+      needsFiltering = true;
+      needsNewFiltering = true;
     }
 
     if(needsFiltering) {
+      filter = ItemFilter.parse(currentFilter, LOCALE, itemFilter);
       if(needsNewFiltering) {
         filteredItems.clear();
+        changedEntries.clear();
         if(database != null) {
           database.getItems(filteredItems);
         }
         needsSorting = true;
       }
 
-      ItemFilter filter = ItemFilter.parse(currentFilter, LOCALE, itemFilter);
+      // a longer query only narrows the list, so just drop what no longer matches
       if(filter != null) {
         Iterator<ItemEntry> iter = filteredItems.iterator();
         while(iter.hasNext()) {
@@ -142,22 +151,71 @@ public class DatabaseView {
     }
 
     if(needsSorting) {
-      Comparator<ItemEntry> cmp;
-      switch (order) {
-        case NAME: cmp = new NameComparator(collator); break;
-        case MOD:  cmp = new ModComparator(collator); break;
-        default:   cmp = new CountComparator(collator); break;
+      comparator = createComparator();
+      for (ItemEntry entry : filteredItems) {
+        entry.sortedCount = entry.count;
       }
-      if(invertSortOrder) {
-        cmp = Collections.reverseOrder(cmp);
+      Collections.sort(filteredItems, comparator);
+      needsSorting = false;
+      changed = true;
+    } else if(!changedEntries.isEmpty()) {
+      for (ItemEntry entry : changedEntries) {
+        updateEntry(entry);
       }
-      Collections.sort(filteredItems, cmp);
+      changedEntries.clear();
       changed = true;
     }
 
     return changed;
   }
 
+  /**
+   * Moves a single entry whose count changed to its new place in the sorted
+   * list, or adds or removes it.
+   */
+  private void updateEntry(ItemEntry entry) {
+    int index = Collections.binarySearch(filteredItems, entry, comparator);
+    boolean keep = entry.count > 0 && (filter == null || filter.matches(entry));
+    if(index >= 0) {
+      if(keep && order != SortOrder.COUNT) {
+        // position only depends on the count when sorting by count
+        return;
+      }
+      filteredItems.remove(index);
+    }
+    if(keep) {
+      entry.sortedCount = entry.count;
+      index = Collections.binarySearch(filteredItems, entry, comparator);
+      if(index < 0) {
+        filteredItems.add(-index - 1, entry);
+      }
+    }
+  }
+
+  private Comparator<ItemEntry> createComparator() {
+    Comparator<ItemEntry> cmp;
+    switch (order) {
+      case NAME: cmp = new NameComparator(collator); break;
+      case MOD:  cmp = new ModComparator(collator); break;
+      default:   cmp = new CountComparator(collator); break;
+    }
+    if(invertSortOrder) {
+      cmp = Collections.reverseOrder(cmp);
+    }
+    // break ties on the database id so every entry has exactly one place
+    final Comparator<ItemEntry> base = cmp;
+    return new Comparator<ItemEntry>() {
+      @Override
+      public int compare(ItemEntry a, ItemEntry b) {
+        int res = base.compare(a, b);
+        if(res == 0) {
+          res = a.dbID < b.dbID ? -1 : (a.dbID == b.dbID ? 0 : 1);
+        }
+        return res;
+      }
+    };
+  }
+
   public int getNumEntries() {
     return filteredItems.size();
   }
@@ -5,6 +5,7 @@ import crazypants.enderio.machine.invpanel.InventoryDatabase;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 
 import com.enderio.core.common.network.CompressedDataInput;
@@ -14,24 +15,43 @@ import net.minecraft.nbt.NBTTagCompound;
 
 public class InventoryDatabaseClient extends InventoryDatabase<ItemEntry> {
 
-  private final ArrayList<ItemEntry> clientItems;
+  /**
+   * Told about item count changes so views can update just the affected
+   * entries.
+   */
+  public interface ChangeListener {
+
+    /** Called after the count of an entry changed, including to or from 0 */
+    void entryChanged(ItemEntry entry);
+
+    /** Called after the whole item list was replaced */
+    void entriesReset();
+  }
+
+  private final LinkedHashSet<ItemEntry> clientItems;
   private final HashSet<Integer> requestedItems;
 
-  private int itemsChangeCount;
-  private int countChangeCount;
+  // Last server sync sequence fully applied to this database
+  private int syncSeq = -1;
+
+  private ChangeListener changeListener;
 
   InventoryDatabaseClient(int generation) {
     this.generation = generation;
-    clientItems = new ArrayList<ItemEntry>();
+    clientItems = new LinkedHashSet<ItemEntry>();
     requestedItems = new HashSet<Integer>();
   }
 
-  public int getItemsChangeCount() {
-    return itemsChangeCount;
+  public int getSyncSeq() {
+    return syncSeq;
+  }
+
+  public void setChangeListener(ChangeListener changeListener) {
+    this.changeListener = changeListener;
   }
 
-  public int getCountChangeCount() {
-    return countChangeCount;
+  public ChangeListener getChangeListener() {
+    return changeListener;
   }
 
   public void getItems(List<ItemEntry> outList) {
@@ -69,8 +89,6 @@ public class InventoryDatabaseClient extends InventoryDatabase<ItemEntry> {
         int count = cdi.readVariable();
         setItemCount(entry, count);
       }
-      itemsChangeCount++;
-      countChangeCount++;
     } finally {
       cdi.close();
     }
@@ -80,6 +98,7 @@ public class InventoryDatabaseClient extends InventoryDatabase<ItemEntry> {
     CompressedDataInput cdi = new CompressedDataInput(compressed);
     try {
       List<Integer> missingItems = null;
+      int seq = cdi.readVariable();
       int changed = cdi.readVariable();
       if(changed > 0) {
         for(int i = 0; i < changed; i++) {
@@ -92,8 +111,6 @@ public class InventoryDatabaseClient extends InventoryDatabase<ItemEntry> {
             missingItems = addMissingItems(missingItems, dbID);
           }
         }
-
-        countChangeCount++;
       } else {
         for(ItemEntry entry : clientItems) {
           entry.count = 0;
@@ -123,10 +140,15 @@ public class InventoryDatabaseClient extends InventoryDatabase<ItemEntry> {
           }
           count = cdi.readVariable();
         }
-        itemsChangeCount++;
-        countChangeCount++;
+        if(changeListener != null) {
+          changeListener.entriesReset();
+        }
       }
 
+      // Only count the batch as applied if we know about all of its items
+      if(missingItems == null) {
+        syncSeq = Math.max(syncSeq, seq);
+      }
       return missingItems;
     } finally {
       cdi.close();
@@ -134,14 +156,18 @@ public class InventoryDatabaseClient extends InventoryDatabase<ItemEntry> {
   }
 
   private void setItemCount(ItemEntry entry, int count) {
+    if(entry.count == count) {
+      return;
+    }
     if(entry.count == 0 && count > 0) {
       clientItems.add(entry);
-      itemsChangeCount++;
     } else if(entry.count > 0 && count == 0) {
       clientItems.remove(entry);
-      itemsChangeCount++;
     }
     entry.count = count;
+    if(changeListener != null) {
+      changeListener.entryChanged(entry);
+    }
   }
 
   private List<Integer> addMissingItems(List<Integer> list, Integer dbId) {
@@ -2,6 +2,8 @@ package crazypants.enderio.machine.invpanel.client;
 
 import cpw.mods.fml.common.registry.GameRegistry;
 import crazypants.enderio.machine.invpanel.ItemEntryBase;
+import java.text.CollationKey;
+import java.text.Collator;
 import java.util.Locale;
 import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
@@ -12,7 +14,12 @@ public class ItemEntry extends ItemEntryBase {
   String name;
   String modId;
   String lowerCaseLocName;
+  String lowerCaseModId;
+  CollationKey nameKey;
+  CollationKey modKey;
   int count;
+  // count this entry was last placed by in a view sorted by count
+  int sortedCount;
 
   public ItemEntry(int dbID, int hash, int itemID, int meta, NBTTagCompound nbt) {
     super(dbID, hash, itemID, meta, nbt);
@@ -42,6 +49,13 @@ public class ItemEntry extends ItemEntryBase {
     return lowerCaseLocName;
   }
 
+  CollationKey getNameKey(Collator collator) {
+    if(nameKey == null) {
+      nameKey = collator.getCollationKey(getUnlocName());
+    }
+    return nameKey;
+  }
+
   private void findUnlocName() {
     ItemStack stack = makeItemStack();
     try {
@@ -64,6 +78,20 @@ public class ItemEntry extends ItemEntryBase {
     return modId;
   }
 
+  public String getLowercaseModId(Locale locale) {
+    if(lowerCaseModId == null) {
+      lowerCaseModId = getModId().toLowerCase(locale);
+    }
+    return lowerCaseModId;
+  }
+
+  CollationKey getModKey(Collator collator) {
+    if(modKey == null) {
+      modKey = collator.getCollationKey(getModId());
+    }
+    return modKey;
+  }
+
   private void findModId() {
     Item item = getItem();
     GameRegistry.UniqueIdentifier id = GameRegistry.findUniqueIdentifierFor(item);
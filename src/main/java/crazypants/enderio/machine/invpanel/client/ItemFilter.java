@@ -73,7 +73,7 @@ public abstract class ItemFilter {
 
     @Override
     public boolean matches(ItemEntry entry) {
-      return entry.getModId().toLowerCase(locale).contains(text);
+      return entry.getLowercaseModId(locale).contains(text);
     }
 
     @Override
@@ -10,9 +10,7 @@ class ModComparator extends NameComparator {
 
   @Override
   public int compare(ItemEntry a, ItemEntry b) {
-    String modIdA = a.getModId();
-    String modIdB = b.getModId();
-    int res = collator.compare(modIdA, modIdB);
+    int res = a.getModKey(collator).compareTo(b.getModKey(collator));
     if (res == 0) {
       res = super.compare(a, b);
     }
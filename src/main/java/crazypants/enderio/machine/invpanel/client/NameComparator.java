@@ -12,9 +12,7 @@ class NameComparator implements Comparator<ItemEntry> {
 
   @Override
   public int compare(ItemEntry a, ItemEntry b) {
-    String nameA = a.getUnlocName();
-    String nameB = b.getUnlocName();
-    return collator.compare(nameA, nameB);
+    return a.getNameKey(collator).compareTo(b.getNameKey(collator));
   }
 
 }
@@ -1,11 +1,27 @@
 package crazypants.enderio.machine.invpanel.server;
 
+import crazypants.enderio.conduit.item.NetworkedInventory;
 import net.minecraft.item.ItemStack;
+import net.minecraft.tileentity.TileEntity;
 
 abstract class AbstractInventory {
   static final SlotKey[] NO_SLOTS = new SlotKey[0];
   SlotKey[] slotKeys = NO_SLOTS;
 
+  // The tile this inventory was created for, used to decide if it can be kept
+  // when the network's sources change
+  TileEntity tile;
+
+  // Set while waiting in the database's queue of changed inventories
+  boolean queued;
+
+  /**
+   * Called when the network was rebuilt and this inventory is now reached
+   * through a new networked inventory for the same tile.
+   */
+  void updateSource(NetworkedInventory ni) {
+  }
+
   protected void setEmpty(InventoryDatabaseServer db) {
     if (slotKeys.length != 0) {
       reset(db, 0);
@@ -36,7 +52,7 @@ abstract class AbstractInventory {
     if (key != current) {
       updateSlotKey(db, slot, slotKey, key, count);
     } else if (slotKey != null && slotKey.count != count) {
-      slotKey.count = count;
+      slotKey.setCount(count);
       db.entryChanged(current);
     }
   }
@@ -69,7 +85,7 @@ abstract class AbstractInventory {
         slotKey.remove(db);
         slotKeys[slot] = null;
       } else {
-        slotKey.count = count;
+        slotKey.setCount(count);
         db.entryChanged(slotKey.item);
       }
     }
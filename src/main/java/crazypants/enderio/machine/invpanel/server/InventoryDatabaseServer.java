@@ -9,43 +9,95 @@ import crazypants.enderio.machine.invpanel.TileInventoryPanel;
 import crazypants.enderio.network.PacketHandler;
 
 import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import com.enderio.core.common.network.CompressedDataInput;
+import com.enderio.core.common.util.BlockCoord;
 import com.enderio.core.common.network.CompressedDataOutput;
 
 import net.minecraft.nbt.CompressedStreamTools;
 import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.tileentity.TileEntity;
 
 public class InventoryDatabaseServer extends InventoryDatabase<ItemEntry> {
 
   private static final AtomicInteger nextGeneration = new AtomicInteger();
 
-  private final ItemConduitNetwork network;
+  private ItemConduitNetwork network;
   private int networkChangeCount;
+  private boolean sourcesValid;
 
   private AbstractInventory[] inventories;
+  private final HashMap<SourceKey, AbstractInventory> sources = new HashMap<SourceKey, AbstractInventory>();
+  // Inventories reported as changed, scanned ahead of the round robin
+  private final ArrayDeque<AbstractInventory> changedInventories = new ArrayDeque<AbstractInventory>();
   private int currentInventory;
+  private int slotBudget;
   private ChangeLog changeLog;
   private boolean sentToClient;
   private int tickPause;
   private float power;
 
+  // Changes are sent to clients in batches, each batch getting the next sequence
+  // number so a client can later ask for just what changed since its last batch
+  private int syncSeq;
+  private boolean changedSinceSync;
+  private int ticksSinceSync;
+
   public InventoryDatabaseServer(ItemConduitNetwork network) {
     this.network = network;
+    generation = nextGeneration.incrementAndGet();
   }
 
   public ItemConduitNetwork getNetwork() {
     return network;
   }
 
+  public int getSyncSeq() {
+    return syncSeq;
+  }
+
   public boolean isCurrent() {
-    return networkChangeCount == network.getChangeCount();
+    return network != null && sourcesValid && networkChangeCount == network.getChangeCount();
+  }
+
+  /**
+   * Called when our network is destroyed. The database is kept so a rebuilt
+   * network can take it over through {@link #adoptNetwork}.
+   */
+  public void networkDestroyed() {
+    network = null;
+    sourcesValid = false;
+  }
+
+  public boolean adoptNetwork(ItemConduitNetwork newNetwork) {
+    if(network != null) {
+      return false;
+    }
+    network = newNetwork;
+    sourcesValid = false;
+    return true;
+  }
+
+  /**
+   * Resets the database if no network took it over, telling clients to drop it.
+   */
+  public void discardIfOrphaned() {
+    if(network == null) {
+      for(AbstractInventory inv : sources.values()) {
+        removeInventory(inv);
+      }
+      sources.clear();
+      inventories = null;
+      resetDatabase();
+    }
   }
 
   public void addChangeLog(ChangeLog cl) {
@@ -105,7 +157,7 @@ public class InventoryDatabaseServer extends InventoryDatabase<ItemEntry> {
         if(entry.nbt != null) {
           CompressedStreamTools.write(entry.nbt, cdo);
         }
-        cdo.writeVariable(entry.countItems(this));
+        cdo.writeVariable(entry.getCount());
       }
       return cdo.getCompressed();
     } finally {
@@ -116,9 +168,10 @@ public class InventoryDatabaseServer extends InventoryDatabase<ItemEntry> {
   public byte[] compressItemList() throws IOException {
     CompressedDataOutput cdo = new CompressedDataOutput();
     try {
+      cdo.writeVariable(syncSeq);
       cdo.writeByte(0);
       for(Map.Entry<Integer, ItemEntry> entry : simpleRegsitry.entrySet()) {
-        int count = entry.getValue().countItems(this);
+        int count = entry.getValue().getCount();
         if(count > 0) {
           cdo.writeVariable(count);
           cdo.writeShort(entry.getKey());
@@ -128,7 +181,7 @@ public class InventoryDatabaseServer extends InventoryDatabase<ItemEntry> {
       int prevID = COMPLEX_DBINDEX_START;
       for(ItemEntry entry : complexItems) {
         if(entry != null) {
-          int count = entry.countItems(this);
+          int count = entry.getCount();
           if(count > 0) {
             cdo.writeVariable(count);
             cdo.writeVariable(entry.dbID - prevID);
@@ -147,46 +200,132 @@ public class InventoryDatabaseServer extends InventoryDatabase<ItemEntry> {
   public byte[] compressChangedItems(Collection<ItemEntry> items) throws IOException {
     CompressedDataOutput cdo = new CompressedDataOutput();
     try {
+      cdo.writeVariable(syncSeq);
       cdo.writeVariable(items.size());
       for(ItemEntry entry : items) {
         cdo.writeVariable(entry.dbID);
-        cdo.writeVariable(entry.countItems(this));
+        cdo.writeVariable(entry.getCount());
       }
+      sentToClient = true;
       return cdo.getCompressed();
     } finally {
       cdo.close();
     }
   }
 
+  /**
+   * Compresses the entries changed after the given sync sequence, for a client
+   * that already holds everything up to it. Returns null if nothing changed.
+   */
+  public byte[] compressItemsChangedSince(int seq) throws IOException {
+    List<ItemEntry> changed = new ArrayList<ItemEntry>();
+    for(ItemEntry entry : simpleRegsitry.values()) {
+      if(entry.changeSeq > seq) {
+        changed.add(entry);
+      }
+    }
+    for(ItemEntry entry : complexItems) {
+      if(entry != null && entry.changeSeq > seq) {
+        changed.add(entry);
+      }
+    }
+    if(changed.isEmpty()) {
+      return null;
+    }
+    return compressChangedItems(changed);
+  }
+
   public void resetDatabase() {
     simpleRegsitry.clear();
     complexRegistry.clear();
     complexItems.clear();
+    changedInventories.clear();
     currentInventory = 0;
+    syncSeq = 0;
+    changedSinceSync = false;
     if(sentToClient) {
       PacketHandler.INSTANCE.sendToAll(new PacketDatabaseReset(generation));
       sentToClient = false;
     }
+    generation = nextGeneration.incrementAndGet();
+    if(changeLog != null) {
+      changeLog.databaseReset();
+    }
   }
 
+  /**
+   * Brings the inventory list in line with the network's panel sources.
+   * Inventories that are still connected keep their slots, new ones are queued
+   * for a scan and those that went away have their slots removed.
+   */
   public void updateNetworkSources() {
-    resetDatabase();
-    generation = nextGeneration.incrementAndGet();
     networkChangeCount = network.getChangeCount();
+    sourcesValid = true;
+
+    HashMap<SourceKey, AbstractInventory> previous = new HashMap<SourceKey, AbstractInventory>(sources);
+    sources.clear();
+    List<AbstractInventory> current = new ArrayList<AbstractInventory>();
+    List<NetworkedInventory> niList = network.getInventoryPanelSources();
+    if(niList != null) {
+      for(NetworkedInventory ni : niList) {
+        SourceKey key = new SourceKey(ni.getLocation(), ni.getInventorySide());
+        if(sources.containsKey(key)) {
+          continue;
+        }
+        TileEntity tile = ni.getTileEntity();
+        AbstractInventory inv = previous.remove(key);
+        if(inv != null && inv.tile == tile) {
+          inv.updateSource(ni);
+        } else {
+          if(inv != null) {
+            removeInventory(inv);
+          }
+          inv = InventoryFactory.createInventory(ni);
+          inv.tile = tile;
+          queueScan(inv);
+        }
+        sources.put(key, inv);
+        current.add(inv);
+      }
+    }
+
+    for(AbstractInventory inv : previous.values()) {
+      removeInventory(inv);
+    }
 
-    List<NetworkedInventory> sources = network.getInventoryPanelSources();
-    if(sources == null || sources.isEmpty()) {
-      this.inventories = null;
+    if(current.isEmpty()) {
+      inventories = null;
     } else {
-      this.inventories = new AbstractInventory[sources.size()];
-      for(int i=0; i<sources.size(); i++) {
-        NetworkedInventory ni = sources.get(i);
-        inventories[i] = InventoryFactory.createInventory(ni);
-      }
+      inventories = current.toArray(new AbstractInventory[current.size()]);
     }
+    if(currentInventory >= current.size()) {
+      currentInventory = 0;
+    }
+  }
 
-    if(changeLog != null) {
-      changeLog.databaseReset();
+  /**
+   * Moves the inventory behind the given networked inventory to the front of
+   * the scan order.
+   */
+  public void inventoryChanged(NetworkedInventory ni) {
+    AbstractInventory inv = sources.get(new SourceKey(ni.getLocation(), ni.getInventorySide()));
+    if(inv != null) {
+      queueScan(inv);
+    }
+  }
+
+  private void removeInventory(AbstractInventory inv) {
+    inv.setEmpty(this);
+    if(inv.queued) {
+      inv.queued = false;
+      changedInventories.remove(inv);
+    }
+  }
+
+  private void queueScan(AbstractInventory inv) {
+    if(!inv.queued) {
+      inv.queued = true;
+      changedInventories.add(inv);
     }
   }
 
@@ -225,35 +364,57 @@ public class InventoryDatabaseServer extends InventoryDatabase<ItemEntry> {
     return 0;
   }
 
-  private void scanNextInventory() {
+  private void scanInventories() {
     if(!isOperational()) {
       tickPause = 20;
       return;
     }
 
-    AbstractInventory inv = inventories[currentInventory];
-    int slots = inv.scanInventory(this);
-
-    currentInventory = (currentInventory+1) % inventories.length;
-    tickPause += 1 + (slots + 8) / 9;
-    power -= slots * Config.inventoryPanelScanCostPerSlot;
+    slotBudget = Math.min(slotBudget + Config.inventoryPanelScanSlotsPerTick, Config.inventoryPanelScanSlotsPerTick);
+    int scanned = 0;
+    while(slotBudget > 0 && scanned < inventories.length && power > 0) {
+      AbstractInventory inv = changedInventories.poll();
+      if(inv != null) {
+        inv.queued = false;
+      } else {
+        inv = inventories[currentInventory];
+        currentInventory = (currentInventory+1) % inventories.length;
+      }
+      int slots = inv.scanInventory(this);
+      // An inventory is always scanned as a whole, larger ones run into the next tick's budget
+      slotBudget -= Math.max(1, slots);
+      power -= slots * Config.inventoryPanelScanCostPerSlot;
+      scanned++;
+    }
   }
 
   public void tick() {
-    if(--tickPause <= 0) {
-      scanNextInventory();
+    if(tickPause > 0) {
+      tickPause--;
+    } else {
+      scanInventories();
+    }
+    if(++ticksSinceSync >= Config.inventoryPanelSyncIntervalTicks) {
+      ticksSinceSync = 0;
+      sendChangeLogs();
     }
   }
 
   void entryChanged(ItemEntry entry) {
+    entry.changeSeq = syncSeq + 1;
+    changedSinceSync = true;
     if(changeLog != null) {
       changeLog.entryChanged(entry);
     }
   }
 
-  public void sendChangeLogs() {
-    if(changeLog != null) {
-      changeLog.sendChangeLog();
+  private void sendChangeLogs() {
+    if(changedSinceSync) {
+      changedSinceSync = false;
+      syncSeq++;
+      if(changeLog != null) {
+        changeLog.sendChangeLog();
+      }
     }
   }
 
@@ -266,4 +427,28 @@ public class InventoryDatabaseServer extends InventoryDatabase<ItemEntry> {
     return inventories[aiIndex];
   }
 
+  private static final class SourceKey {
+    final BlockCoord location;
+    final int side;
+
+    SourceKey(BlockCoord location, int side) {
+      this.location = location;
+      this.side = side;
+    }
+
+    @Override
+    public int hashCode() {
+      return location.hashCode() * 31 + side;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if(!(obj instanceof SourceKey)) {
+        return false;
+      }
+      SourceKey other = (SourceKey) obj;
+      return side == other.side && location.equals(other.location);
+    }
+  }
+
 }
@@ -7,23 +7,33 @@ import net.minecraft.nbt.NBTTagCompound;
 public class ItemEntry extends ItemEntryBase {
   private final IdentityHashMap<SlotKey, SlotKey> slots = new IdentityHashMap<SlotKey, SlotKey>();
 
+  // Running total of all slots, kept up to date by the slot keys
+  private int count;
+
+  // Sync sequence this entry was last changed in
+  int changeSeq;
+
   public ItemEntry(int dbID, int hash, int itemID, int meta, NBTTagCompound nbt) {
     super(dbID, hash, itemID, meta, nbt);
   }
 
   void addSlot(SlotKey slotKey) {
-    slots.put(slotKey, slotKey);
+    if(slots.put(slotKey, slotKey) == null) {
+      count += slotKey.count;
+    }
   }
 
   void removeSlot(SlotKey slotKey) {
-    slots.remove(slotKey);
+    if(slots.remove(slotKey) != null) {
+      count -= slotKey.count;
+    }
   }
 
-  int countItems(InventoryDatabaseServer db) {
-    int count = 0;
-    for (SlotKey slotKey : slots.values()) {
-      count += slotKey.count;
-    }
+  void slotCountChanged(int delta) {
+    count += delta;
+  }
+
+  int getCount() {
     return count;
   }
 
@@ -5,12 +5,17 @@ import net.minecraft.inventory.ISidedInventory;
 import net.minecraft.item.ItemStack;
 
 class NormalInventory extends AbstractInventory {
-  final NetworkedInventory ni;
+  NetworkedInventory ni;
 
   NormalInventory(NetworkedInventory ni) {
     this.ni = ni;
   }
 
+  @Override
+  void updateSource(NetworkedInventory ni) {
+    this.ni = ni;
+  }
+
   @Override
   int scanInventory(InventoryDatabaseServer db) {
     ISidedInventory inv = ni.getInventoryRecheck();
@@ -13,6 +13,11 @@ public final class SlotKey {
     this.count = count;
   }
 
+  void setCount(int count) {
+    item.slotCountChanged(count - this.count);
+    this.count = count;
+  }
+
   void remove(InventoryDatabaseServer db) {
     item.removeSlot(this);
     db.entryChanged(item);
@@ -41,6 +41,7 @@ import cpw.mods.fml.common.eventhandler.Event.Result;
 import crazypants.enderio.EnderIO;
 import crazypants.enderio.ModObject;
 import crazypants.enderio.config.Config;
+import crazypants.enderio.entity.EntityQueryCache;
 import crazypants.enderio.machine.AbstractMachineEntity;
 import crazypants.enderio.machine.FakePlayerEIO;
 import crazypants.enderio.machine.SlotDefinition;
@@ -192,7 +193,7 @@ public class TileKillerJoe extends AbstractMachineEntity implements IFluidHandle
       return false;
     }
 
-    List<EntityLivingBase> entsInBounds = worldObj.getEntitiesWithinAABB(EntityLivingBase.class, getKillBounds());
+    List<EntityLivingBase> entsInBounds = EntityQueryCache.getEntitiesWithinAABB(worldObj, EntityLivingBase.class, getKillBounds());
     if(!entsInBounds.isEmpty()) {
 
       for (EntityLivingBase ent : entsInBounds) {
@@ -259,7 +260,7 @@ public class TileKillerJoe extends AbstractMachineEntity implements IFluidHandle
 
     double maxDist = Config.killerJoeHooverXpLength;
 
-    List<EntityXPOrb> xp = worldObj.selectEntitiesWithinAABB(EntityXPOrb.class, getHooverBounds(), this);
+    List<EntityXPOrb> xp = EntityQueryCache.selectEntitiesWithinAABB(worldObj, EntityXPOrb.class, getHooverBounds(), this);
 
     for (EntityXPOrb entity : xp) {
       double xDist = (xCoord + 0.5D - entity.posX);
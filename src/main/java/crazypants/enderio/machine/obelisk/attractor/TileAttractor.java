@@ -39,6 +39,7 @@ import cpw.mods.fml.relauncher.SideOnly;
 import crazypants.enderio.EnderIO;
 import crazypants.enderio.ModObject;
 import crazypants.enderio.config.Config;
+import crazypants.enderio.entity.EntityQueryCache;
 import crazypants.enderio.machine.AbstractPowerConsumerEntity;
 import crazypants.enderio.machine.FakePlayerEIO;
 import crazypants.enderio.machine.SlotDefinition;
@@ -158,7 +159,7 @@ public class TileAttractor extends AbstractPowerConsumerEntity implements IRange
     tickCounter = 0;
 
     Set<EntityLiving> trackingThisTick = new HashSet<EntityLiving>();
-    List<EntityLiving> entsInBounds = worldObj.getEntitiesWithinAABB(EntityLiving.class, attractorBounds);
+    List<EntityLiving> entsInBounds = EntityQueryCache.getEntitiesWithinAABB(worldObj, EntityLiving.class, attractorBounds);
 
     int candidates = 0;
     for (EntityLiving ent : entsInBounds) {
@@ -2,6 +2,7 @@ package crazypants.enderio.machine.recipe;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import net.minecraft.item.ItemStack;
@@ -16,6 +17,10 @@ public class ManyToOneRecipeManager {
   
   private final List<IManyToOneRecipe> recipes = new ArrayList<IManyToOneRecipe>();
 
+  private final RecipeIndex<IManyToOneRecipe> index = new RecipeIndex<IManyToOneRecipe>();
+
+  private final RecipeMatchCache<IManyToOneRecipe> matches = new RecipeMatchCache<IManyToOneRecipe>();
+
   private final String coreFileName;
   private final String customFileName;
   private final String managerName;
@@ -64,7 +69,7 @@ public class ManyToOneRecipeManager {
   }
 
   public List<IManyToOneRecipe> getRecipes() {
-    return recipes;
+    return Collections.unmodifiableList(recipes);
   }
 
   private void processConfig(RecipeConfig config) {
@@ -93,6 +98,8 @@ public class ManyToOneRecipeManager {
       return;
     }
     recipes.add(recipe);
+    index.addRecipe(recipe);
+    matches.clear();
   }
 
   private IRecipe getRecipeForInputs(List<ItemStack> inputs) {
@@ -105,10 +112,34 @@ public class ManyToOneRecipeManager {
   }
 
   public IRecipe getRecipeForInputs(MachineRecipeInput[] inputs) {
-
-    for (IManyToOneRecipe rec : recipes) {
+    // Every item input has to be part of a matching recipe, so the recipes
+    // using any one of them are the only candidates
+    ItemStack first = getFirstItem(inputs);
+    if(first == null) {
+      return null;
+    }
+    RecipeMatchCache.Key key = RecipeMatchCache.getKey(inputs);
+    RecipeMatchCache.Match<IManyToOneRecipe> cached = matches.get(key);
+    if(cached != null) {
+      return cached.recipe;
+    }
+    IManyToOneRecipe found = null;
+    for (IManyToOneRecipe rec : index.getCandidates(first)) {
       if(rec.isInputForRecipe(inputs)) {
-        return rec;
+        found = rec;
+        break;
+      }
+    }
+    matches.put(key, found);
+    return found;
+  }
+
+  private static ItemStack getFirstItem(MachineRecipeInput[] inputs) {
+    if(inputs != null) {
+      for (MachineRecipeInput input : inputs) {
+        if(input != null && input.item != null) {
+          return input.item;
+        }
       }
     }
     return null;
@@ -118,7 +149,7 @@ public class ManyToOneRecipeManager {
     if(input == null || input.item == null) {
       return false;
     }
-    for (IManyToOneRecipe recipe : recipes) {
+    for (IManyToOneRecipe recipe : index.getCandidates(input.item)) {
       for (RecipeInput ri : recipe.getInputs()) {
         if(ri.isInput(input.item) && (ri.getSlotNumber() == -1 || input.slotNumber == ri.getSlotNumber())) {
           return true;
@@ -132,7 +163,14 @@ public class ManyToOneRecipeManager {
     if(inputs == null || inputs.length == 0) {
       return false;
     }
-    for (IManyToOneRecipe recipe : recipes) {
+    List<IManyToOneRecipe> candidates = recipes;
+    for (ItemStack input : inputs) {
+      if(input != null) {
+        candidates = index.getCandidates(input);
+        break;
+      }
+    }
+    for (IManyToOneRecipe recipe : candidates) {
       if(recipe.isValidRecipeComponents(inputs)) {
         return true;
       }
@@ -0,0 +1,120 @@
+package crazypants.enderio.machine.recipe;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraftforge.oredict.OreDictionary;
+
+/**
+ * Maps input items and ore dictionary IDs to the recipes using them, so a
+ * lookup only needs to test the few recipes that could possibly match.
+ * Candidates are returned in the order the recipes were added.
+ */
+public class RecipeIndex<T extends IRecipe> {
+
+  private final Map<Item, List<Entry<T>>> byItem = new HashMap<Item, List<Entry<T>>>();
+
+  private final Map<Integer, List<Entry<T>>> byOreId = new HashMap<Integer, List<Entry<T>>>();
+
+  // Recipes with custom inputs we can't key, always treated as candidates
+  private final List<Entry<T>> unkeyed = new ArrayList<Entry<T>>();
+
+  private int nextOrdinal = 0;
+
+  public void addRecipe(T recipe) {
+    if(recipe == null || recipe.getInputs() == null) {
+      return;
+    }
+    Entry<T> entry = new Entry<T>(nextOrdinal++, recipe);
+    for (RecipeInput input : recipe.getInputs()) {
+      if(input == null || input.isFluid()) {
+        continue;
+      }
+      if(input instanceof OreDictionaryRecipeInput) {
+        addTo(byOreId, ((OreDictionaryRecipeInput) input).getOreId(), entry);
+      } else if(input.getClass() != RecipeInput.class) {
+        if(!unkeyed.contains(entry)) {
+          unkeyed.add(entry);
+        }
+      } else if(input.getInput() != null && input.getInput().getItem() != null) {
+        addTo(byItem, input.getInput().getItem(), entry);
+      }
+    }
+  }
+
+  public List<T> getCandidates(ItemStack stack) {
+    if(stack == null || stack.getItem() == null) {
+      return Collections.emptyList();
+    }
+    List<Entry<T>> found = new ArrayList<Entry<T>>();
+    List<Entry<T>> bucket = byItem.get(stack.getItem());
+    if(bucket != null) {
+      found.addAll(bucket);
+    }
+    if(!byOreId.isEmpty()) {
+      int[] ids = null;
+      try {
+        ids = OreDictionary.getOreIDs(stack);
+      } catch (Exception e) {
+        // treated the same as OreDictionaryRecipeInput.isInput does
+      }
+      if(ids != null) {
+        for (int id : ids) {
+          bucket = byOreId.get(id);
+          if(bucket != null) {
+            found.addAll(bucket);
+          }
+        }
+      }
+    }
+    found.addAll(unkeyed);
+
+    if(found.size() > 1) {
+      Collections.sort(found, ordinalOrder);
+    }
+    List<T> result = new ArrayList<T>(found.size());
+    Entry<T> prev = null;
+    for (Entry<T> entry : found) {
+      if(entry != prev) {
+        result.add(entry.recipe);
+      }
+      prev = entry;
+    }
+    return result;
+  }
+
+  private static <K, T> void addTo(Map<K, List<Entry<T>>> map, K key, Entry<T> entry) {
+    List<Entry<T>> bucket = map.get(key);
+    if(bucket == null) {
+      bucket = new ArrayList<Entry<T>>();
+      map.put(key, bucket);
+    }
+    if(bucket.isEmpty() || bucket.get(bucket.size() - 1) != entry) {
+      bucket.add(entry);
+    }
+  }
+
+  private final Comparator<Entry<T>> ordinalOrder = new Comparator<Entry<T>>() {
+    @Override
+    public int compare(Entry<T> o1, Entry<T> o2) {
+      return o1.ordinal < o2.ordinal ? -1 : (o1.ordinal == o2.ordinal ? 0 : 1);
+    }
+  };
+
+  private static class Entry<T> {
+    final int ordinal;
+    final T recipe;
+
+    Entry(int ordinal, T recipe) {
+      this.ordinal = ordinal;
+      this.recipe = recipe;
+    }
+  }
+
+}
@@ -0,0 +1,103 @@
+package crazypants.enderio.machine.recipe;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import net.minecraft.item.Item;
+
+import crazypants.enderio.machine.MachineRecipeInput;
+
+/**
+ * Remembers the recipe a lookup found for a given set of inputs, including
+ * when it found none. Machines are fed the same stacks over and over, so this
+ * saves repeating the candidate scan. It only memoises the lookup, so the
+ * answer is still the first match in registration order whatever was matched
+ * before. Lookups come from both the client and server threads, hence the
+ * concurrent map. Must be cleared whenever a recipe is added.
+ */
+public class RecipeMatchCache<T> {
+
+  // Inputs vary with stack size, so stop a busy machine growing this forever
+  private static final int MAX_ENTRIES = 1024;
+
+  private final Map<Key, Match<T>> matches = new ConcurrentHashMap<Key, Match<T>>();
+
+  /**
+   * @return the key for the inputs, or null if they can't be cached because
+   *         they include fluids or items with NBT, which some inputs look at
+   */
+  public static Key getKey(MachineRecipeInput... inputs) {
+    if(inputs == null) {
+      return null;
+    }
+    int[] values = new int[inputs.length * 4];
+    int i = 0;
+    for (MachineRecipeInput input : inputs) {
+      if(input == null || input.item == null) {
+        continue;
+      }
+      if(input.fluid != null || input.item.hasTagCompound() || input.item.getItem() == null) {
+        return null;
+      }
+      values[i++] = input.slotNumber;
+      values[i++] = Item.getIdFromItem(input.item.getItem());
+      values[i++] = input.item.getItemDamage();
+      values[i++] = input.item.stackSize;
+    }
+    return i == 0 ? null : new Key(Arrays.copyOf(values, i));
+  }
+
+  /**
+   * @return the cached result, or null if the key hasn't been looked up yet
+   */
+  public Match<T> get(Key key) {
+    return key == null ? null : matches.get(key);
+  }
+
+  public void put(Key key, T recipe) {
+    if(key == null) {
+      return;
+    }
+    if(matches.size() >= MAX_ENTRIES) {
+      matches.clear();
+    }
+    matches.put(key, new Match<T>(recipe));
+  }
+
+  public void clear() {
+    matches.clear();
+  }
+
+  public static final class Match<T> {
+
+    /** The matching recipe, or null if nothing matched */
+    public final T recipe;
+
+    Match(T recipe) {
+      this.recipe = recipe;
+    }
+  }
+
+  public static final class Key {
+
+    private final int[] values;
+    private final int hash;
+
+    Key(int[] values) {
+      this.values = values;
+      hash = Arrays.hashCode(values);
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      return obj instanceof Key && Arrays.equals(values, ((Key) obj).values);
+    }
+  }
+
+}
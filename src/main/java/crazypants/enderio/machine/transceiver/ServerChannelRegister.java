@@ -5,6 +5,7 @@ import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -174,34 +175,90 @@ public class ServerChannelRegister extends ChannelRegister {
 
   //-----------------------------------------------------------------------------------------------
 
-  private final List<TileTransceiver> transceivers = new ArrayList<TileTransceiver>();
-  private Map<Channel, RoundRobinIterator<TileTransceiver>> iterators = new HashMap<Channel, RoundRobinIterator<TileTransceiver>>();
+  // Channels already carry their ChannelType, so keying on the channel gives
+  // separate send and receive subscriber lists per type.
+  private final Map<Channel, List<TileTransceiver>> senders = new HashMap<Channel, List<TileTransceiver>>();
+  private final Map<Channel, List<TileTransceiver>> receivers = new HashMap<Channel, List<TileTransceiver>>();
+  private final Map<Channel, RoundRobinIterator<TileTransceiver>> iterators = new HashMap<Channel, RoundRobinIterator<TileTransceiver>>();
 
   private ServerChannelRegister() {
   }
 
   public void register(TileTransceiver transceiver) {
-    transceivers.add(transceiver);
+    for (Channel channel : transceiver.getSendChannels().values()) {
+      subscribe(transceiver, channel, true);
+    }
+    for (Channel channel : transceiver.getReceiveChannels().values()) {
+      subscribe(transceiver, channel, false);
+    }
   }
 
   public void dergister(TileTransceiver transceiver) {
-    transceivers.remove(transceiver);
+    for (Channel channel : transceiver.getSendChannels().values()) {
+      unsubscribe(transceiver, channel, true);
+    }
+    for (Channel channel : transceiver.getReceiveChannels().values()) {
+      unsubscribe(transceiver, channel, false);
+    }
+  }
+
+  void subscribe(TileTransceiver transceiver, Channel channel, boolean send) {
+    Map<Channel, List<TileTransceiver>> index = send ? senders : receivers;
+    List<TileTransceiver> subs = index.get(channel);
+    if(subs == null) {
+      subs = new ArrayList<TileTransceiver>();
+      index.put(channel, subs);
+    }
+    if(!subs.contains(transceiver)) {
+      subs.add(transceiver);
+    }
+  }
+
+  void unsubscribe(TileTransceiver transceiver, Channel channel, boolean send) {
+    Map<Channel, List<TileTransceiver>> index = send ? senders : receivers;
+    List<TileTransceiver> subs = index.get(channel);
+    if(subs == null) {
+      return;
+    }
+    subs.remove(transceiver);
+    if(subs.isEmpty()) {
+      index.remove(channel);
+      if(!send) {
+        iterators.remove(channel);
+      }
+    }
+  }
+
+  private List<TileTransceiver> getReceivers(Channel channel) {
+    List<TileTransceiver> res = receivers.get(channel);
+    return res == null ? Collections.<TileTransceiver> emptyList() : res;
   }
 
   @Override
   public void reset() {
     super.reset();
-    transceivers.clear();
+    senders.clear();
+    receivers.clear();
     iterators.clear();
   }
 
   @Override
   public void removeChannel(Channel channel) {
     super.removeChannel(channel);
-    for (TileTransceiver trans : transceivers) {
-      trans.removeRecieveChanel(channel);
-      trans.removeSendChanel(channel);
+    List<TileTransceiver> subs = receivers.get(channel);
+    if(subs != null) {
+      for (TileTransceiver trans : new ArrayList<TileTransceiver>(subs)) {
+        trans.removeRecieveChanel(channel);
+      }
     }
+    subs = senders.get(channel);
+    if(subs != null) {
+      for (TileTransceiver trans : new ArrayList<TileTransceiver>(subs)) {
+        trans.removeSendChanel(channel);
+      }
+    }
+    senders.remove(channel);
+    receivers.remove(channel);
     iterators.remove(channel);
     queueStore();
   }
@@ -212,10 +269,19 @@ public class ServerChannelRegister extends ChannelRegister {
     queueStore();
   }
 
+  /**
+   * Round robin over the transceivers receiving on the given channel. The
+   * iterator wraps the live subscriber list so it does not need rebuilding
+   * when transceivers join or leave the channel.
+   */
   public RoundRobinIterator<TileTransceiver> getIterator(Channel channel) {
     RoundRobinIterator<TileTransceiver> res = iterators.get(channel);
     if(res == null) {
-      res = new RoundRobinIterator<TileTransceiver>(transceivers);
+      List<TileTransceiver> subs = receivers.get(channel);
+      if(subs == null) {
+        return new RoundRobinIterator<TileTransceiver>(Collections.<TileTransceiver> emptyList());
+      }
+      res = new RoundRobinIterator<TileTransceiver>(subs);
       iterators.put(channel, res);
     }
     return res;
@@ -226,7 +292,7 @@ public class ServerChannelRegister extends ChannelRegister {
   public void sendPower(TileTransceiver sender, int canSend, Channel channel) {
     RoundRobinIterator<TileTransceiver> iter = getIterator(channel);
     for (TileTransceiver trans : iter) {
-      if(trans != sender && trans.getRecieveChannels(ChannelType.POWER).contains(channel)) {
+      if(trans != sender) {
         double invLoss = 1 - Config.transceiverEnergyLoss;
         int canSendWithLoss = (int) Math.round(canSend * invLoss);
         int recieved = trans.receiveEnergy(ForgeDirection.UNKNOWN, canSendWithLoss, false);
@@ -242,18 +308,22 @@ public class ServerChannelRegister extends ChannelRegister {
 
   public FluidTankInfo[] getTankInfoForChannels(TileTransceiver tileTransceiver, Set<Channel> channels) {
     List<FluidTankInfo> infos = new ArrayList<FluidTankInfo>();
-    for (TileTransceiver tran : transceivers) {
-      if(tran != tileTransceiver) {
-        tran.getRecieveTankInfo(infos, channels);
+    List<TileTransceiver> visited = new ArrayList<TileTransceiver>();
+    for (Channel channel : channels) {
+      for (TileTransceiver tran : getReceivers(channel)) {
+        if(tran != tileTransceiver && !visited.contains(tran)) {
+          visited.add(tran);
+          tran.getRecieveTankInfo(infos, channels);
+        }
       }
     }
     return infos.toArray(new FluidTankInfo[infos.size()]);
   }
 
   public boolean canFill(TileTransceiver tileTransceiver, Set<Channel> set, Fluid fluid) {
-    for (TileTransceiver tran : transceivers) {
-      if(tran != tileTransceiver) {
-        if(tran.canReceive(set, fluid)) {
+    for (Channel channel : set) {
+      for (TileTransceiver tran : getReceivers(channel)) {
+        if(tran != tileTransceiver && tran.canReceive(set, fluid)) {
           return true;
         }
       }
@@ -295,7 +365,7 @@ public class ServerChannelRegister extends ChannelRegister {
     for (Channel channel : channels) {
       RoundRobinIterator<TileTransceiver> iter = getIterator(channel);
       for (TileTransceiver trans : iter) {
-        if(trans != from && trans.getRecieveChannels(ChannelType.ITEM).contains(channel) && trans.getRedstoneChecksPassed()) {
+        if(trans != from && trans.getRedstoneChecksPassed()) {
           contents = sendItem(from, slot, contents, trans);
           if(contents == null) {
             return;
@@ -201,6 +201,9 @@ public class TileTransceiver extends AbstractPoweredTaskEntity implements IFluid
     }
     Collection<Channel> chans = channels.get(channel.getType());
     if (chans.add(channel)) {
+      if(registered) {
+        ServerChannelRegister.instance.subscribe(this, channel, channels == sendChannels);
+      }
       if (channels == sendChannels) {
         sendChannelsDirty = true;
       } else {
@@ -215,6 +218,9 @@ public class TileTransceiver extends AbstractPoweredTaskEntity implements IFluid
     }
     Set<Channel> chans = channnels.get(channel.getType());
     if (chans.remove(channel)) {
+      if(registered) {
+        ServerChannelRegister.instance.unsubscribe(this, channel, channnels == sendChannels);
+      }
       if (channnels == sendChannels) {
         sendChannelsDirty = true;
       } else {
@@ -239,8 +245,14 @@ public class TileTransceiver extends AbstractPoweredTaskEntity implements IFluid
   @Override
   public void readCommon(NBTTagCompound nbtRoot) {
     super.readCommon(nbtRoot);
+    if(registered) {
+      ServerChannelRegister.instance.dergister(this);
+    }
     readChannels(nbtRoot, sendChannels, "sendChannels");
     readChannels(nbtRoot, recieveChannels, "recieveChannels");
+    if(registered) {
+      ServerChannelRegister.instance.register(this);
+    }
 
     if(nbtRoot.hasKey("sendItemFilter")) {
       NBTTagCompound itemRoot = nbtRoot.getCompoundTag("sendItemFilter");
@@ -1,7 +1,10 @@
 package crazypants.enderio.network;
 
 import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.server.management.PlayerManager;
 import net.minecraft.tileentity.TileEntity;
+import net.minecraft.world.World;
+import net.minecraft.world.WorldServer;
 import cpw.mods.fml.common.network.NetworkRegistry;
 import cpw.mods.fml.common.network.NetworkRegistry.TargetPoint;
 import cpw.mods.fml.common.network.simpleimpl.IMessage;
@@ -27,6 +30,26 @@ public class PacketHandler
         sendToAllAround(message, te, 64);
     }
 
+    /**
+     * Sends to the players that have the chunk of the tile entity loaded, which
+     * are the ones that were sent its description packet.
+     */
+    public static void sendToAllTracking(IMessage message, TileEntity te) {
+        World world = te.getWorldObj();
+        if(!(world instanceof WorldServer)) {
+            return;
+        }
+        PlayerManager playerManager = ((WorldServer) world).getPlayerManager();
+        int chunkX = te.xCoord >> 4;
+        int chunkZ = te.zCoord >> 4;
+        for (Object obj : world.playerEntities) {
+            EntityPlayerMP player = (EntityPlayerMP) obj;
+            if(playerManager.isPlayerWatchingChunk(player, chunkX, chunkZ)) {
+                INSTANCE.sendTo(message, player);
+            }
+        }
+    }
+
     public static void sendTo(IMessage message, EntityPlayerMP player) {
       INSTANCE.sendTo(message, player);
     }
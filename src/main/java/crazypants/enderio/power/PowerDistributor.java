@@ -39,13 +39,14 @@ public class PowerDistributor {
       receptorIterator = receptors.listIterator();
     }
 
+    long now = worldObj.getTotalWorldTime();
     int appliedCount = 0;
     int numReceptors = receptors.size();
     while (receptorIterator.hasNext() && available > 0 && appliedCount < numReceptors) {
       Receptor receptor = receptorIterator.next();
-      IPowerInterface pp = receptor.receptor;
-      if(pp != null && pp.getMinEnergyReceived(receptor.fromDir.getOpposite()) <= available) {
-        int used = pp.recieveEnergy(receptor.fromDir.getOpposite(), available);
+      IPowerInterface pp = receptor.endpoint.getPowerInterface();
+      if(pp.getMinEnergyReceived(receptor.fromDir.getOpposite()) <= available) {
+        int used = receptor.endpoint.offer(receptor.fromDir.getOpposite(), available, now);
         transmitted += used;
         available -= used;
       }
@@ -66,14 +67,13 @@ public class PowerDistributor {
       return;
     }
     receptors.clear();
+    TileEntity transmitter = worldObj.getTileEntity(bc.x, bc.y, bc.z);
     for (ForgeDirection dir : ForgeDirection.VALID_DIRECTIONS) {
-      TileEntity transmitter = worldObj.getTileEntity(bc.x, bc.y, bc.z);
       if(!(transmitter instanceof AbstractMachineEntity) || ((AbstractMachineEntity) transmitter).getIoMode(dir).canOutput()) {
-        BlockCoord checkLoc = bc.getLocation(dir);
-        TileEntity te = worldObj.getTileEntity(checkLoc.x, checkLoc.y, checkLoc.z);
-        IPowerInterface pi = PowerHandlerUtil.create(te);
-        if(pi != null && pi.canConduitConnect(dir.getOpposite())) {
-          receptors.add(new Receptor(pi, dir));
+        PowerEndpoint endpoint = PowerEndpointCache.getEndpoint(worldObj, bc.x + dir.offsetX, bc.y + dir.offsetY, bc.z + dir.offsetZ);
+        if(endpoint != null && endpoint.getPowerInterface().canConduitConnect(dir.getOpposite())) {
+          endpoint.resetBackoff();
+          receptors.add(new Receptor(endpoint, dir));
         }
       }
     }
@@ -82,11 +82,11 @@ public class PowerDistributor {
   }
 
   static class Receptor {
-    IPowerInterface receptor;
+    PowerEndpoint endpoint;
     ForgeDirection fromDir;
 
-    private Receptor(IPowerInterface rec, ForgeDirection fromDir) {
-      this.receptor = rec;
+    private Receptor(PowerEndpoint endpoint, ForgeDirection fromDir) {
+      this.endpoint = endpoint;
       this.fromDir = fromDir;
     }
   }
@@ -0,0 +1,75 @@
+package crazypants.enderio.power;
+
+import net.minecraft.tileentity.TileEntity;
+import net.minecraftforge.common.util.ForgeDirection;
+
+/**
+ * A tile that can take part in power transfer, as cached by
+ * {@link PowerEndpointCache}. Besides the {@link IPowerInterface} wrapper it
+ * remembers, per side, if the tile has been refusing energy. Offers to a side
+ * that keeps refusing are skipped for longer and longer, up to
+ * {@link #MAX_BACKOFF} ticks, so full buffers don't cost their neighbours a
+ * fruitless call every tick.
+ */
+public class PowerEndpoint {
+
+  public static final int MAX_BACKOFF = 32;
+
+  private final TileEntity tile;
+  private final IPowerInterface power;
+
+  private final long[] retryAt = new long[6];
+  private final int[] backoffTicks = new int[6];
+
+  PowerEndpoint(TileEntity tile, IPowerInterface power) {
+    this.tile = tile;
+    this.power = power;
+  }
+
+  public TileEntity getTile() {
+    return tile;
+  }
+
+  public IPowerInterface getPowerInterface() {
+    return power;
+  }
+
+  /**
+   * Offers energy to the given side of the tile unless that side is backed off.
+   *
+   * @return the amount accepted
+   */
+  public int offer(ForgeDirection side, int available, long now) {
+    if(isBackedOff(side, now)) {
+      return 0;
+    }
+    int i = side.ordinal();
+    int used = Math.max(0, power.recieveEnergy(side, available));
+    if(used > 0) {
+      backoffTicks[i] = 0;
+    } else {
+      backoffTicks[i] = backoffTicks[i] == 0 ? 1 : Math.min(backoffTicks[i] * 2, MAX_BACKOFF);
+      retryAt[i] = now + backoffTicks[i];
+    }
+    return used;
+  }
+
+  /**
+   * @return true if offers to the side are being skipped at the moment
+   */
+  public boolean isBackedOff(ForgeDirection side, long now) {
+    return now < retryAt[side.ordinal()];
+  }
+
+  /**
+   * Gives all sides a fresh chance. Called whenever a neighbour rescans its
+   * receptors, as whatever changed nearby may have made room in the tile.
+   */
+  public void resetBackoff() {
+    for (int i = 0; i < 6; i++) {
+      retryAt[i] = 0;
+      backoffTicks[i] = 0;
+    }
+  }
+
+}
@@ -0,0 +1,145 @@
+package crazypants.enderio.power;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.world.ChunkCoordIntPair;
+import net.minecraft.world.World;
+import net.minecraftforge.event.world.BlockEvent;
+import net.minecraftforge.event.world.ChunkEvent;
+import net.minecraftforge.event.world.WorldEvent;
+import cpw.mods.fml.common.eventhandler.SubscribeEvent;
+
+/**
+ * World level cache of the {@link PowerEndpoint}s of power handling tiles, so
+ * every machine, cap bank and conduit next to a tile shares one wrapper and
+ * one set of back off state instead of creating its own. An entry is only
+ * returned while the tile at its position is still the one it wraps. Entries
+ * are dropped when their block is broken or placed, and with their chunk or
+ * world.
+ */
+public class PowerEndpointCache {
+
+  private static final Map<World, PowerEndpointCache> caches = new WeakHashMap<World, PowerEndpointCache>();
+
+  private static synchronized PowerEndpointCache get(World world, boolean create) {
+    PowerEndpointCache res = caches.get(world);
+    if(res == null && create) {
+      res = new PowerEndpointCache();
+      caches.put(world, res);
+    }
+    return res;
+  }
+
+  /**
+   * @return the endpoint for the tile at the given position, or null if there
+   *         is no tile there that handles power
+   */
+  public static PowerEndpoint getEndpoint(World world, int x, int y, int z) {
+    TileEntity te = world.getTileEntity(x, y, z);
+    if(te == null) {
+      invalidate(world, x, y, z);
+      return null;
+    }
+    return getEndpoint(te);
+  }
+
+  /**
+   * @return the endpoint for the given tile, or null if it does not handle
+   *         power
+   */
+  public static PowerEndpoint getEndpoint(TileEntity te) {
+    if(te.isInvalid()) {
+      invalidate(te.getWorldObj(), te.xCoord, te.yCoord, te.zCoord);
+      return null;
+    }
+    return get(te.getWorldObj(), true).get(te);
+  }
+
+  /**
+   * @return the power interface for the given tile, or null
+   */
+  public static IPowerInterface getPowerInterface(TileEntity te) {
+    PowerEndpoint res = getEndpoint(te);
+    return res == null ? null : res.getPowerInterface();
+  }
+
+  public static void invalidate(World world, int x, int y, int z) {
+    PowerEndpointCache cache = get(world, false);
+    if(cache != null) {
+      cache.remove(x, y, z);
+    }
+  }
+
+  public static class EventHandler {
+
+    @SubscribeEvent
+    public void onBreak(BlockEvent.BreakEvent evt) {
+      invalidate(evt.world, evt.x, evt.y, evt.z);
+    }
+
+    @SubscribeEvent
+    public void onPlace(BlockEvent.PlaceEvent evt) {
+      invalidate(evt.world, evt.x, evt.y, evt.z);
+    }
+
+    @SubscribeEvent
+    public void onChunkUnload(ChunkEvent.Unload evt) {
+      PowerEndpointCache cache = get(evt.world, false);
+      if(cache != null) {
+        cache.chunks.remove(ChunkCoordIntPair.chunkXZ2Int(evt.getChunk().xPosition, evt.getChunk().zPosition));
+      }
+    }
+
+    @SubscribeEvent
+    public void onWorldUnload(WorldEvent.Unload evt) {
+      synchronized (PowerEndpointCache.class) {
+        caches.remove(evt.world);
+      }
+    }
+  }
+
+  private final Map<Long, Map<Integer, PowerEndpoint>> chunks = new HashMap<Long, Map<Integer, PowerEndpoint>>();
+
+  private PowerEndpointCache() {
+  }
+
+  private PowerEndpoint get(TileEntity te) {
+    long chunkKey = ChunkCoordIntPair.chunkXZ2Int(te.xCoord >> 4, te.zCoord >> 4);
+    Map<Integer, PowerEndpoint> inChunk = chunks.get(chunkKey);
+    int key = localKey(te.xCoord, te.yCoord, te.zCoord);
+    PowerEndpoint res = inChunk == null ? null : inChunk.get(key);
+    if(res != null && res.getTile() == te) {
+      return res;
+    }
+    IPowerInterface pi = PowerHandlerUtil.create(te);
+    if(pi == null) {
+      if(res != null) {
+        inChunk.remove(key);
+      }
+      return null;
+    }
+    if(inChunk == null) {
+      inChunk = new HashMap<Integer, PowerEndpoint>();
+      chunks.put(chunkKey, inChunk);
+    }
+    res = new PowerEndpoint(te, pi);
+    inChunk.put(key, res);
+    return res;
+  }
+
+  private void remove(int x, int y, int z) {
+    long chunkKey = ChunkCoordIntPair.chunkXZ2Int(x >> 4, z >> 4);
+    Map<Integer, PowerEndpoint> inChunk = chunks.get(chunkKey);
+    if(inChunk != null && inChunk.remove(localKey(x, y, z)) != null && inChunk.isEmpty()) {
+      chunks.remove(chunkKey);
+    }
+  }
+
+  private static int localKey(int x, int y, int z) {
+    return (y & 0xFF) << 8 | (z & 0xF) << 4 | (x & 0xF);
+  }
+
+}
@@ -0,0 +1,141 @@
+package crazypants.enderio.teleport;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.WeakHashMap;
+
+import net.minecraft.world.ChunkCoordIntPair;
+import net.minecraft.world.World;
+
+import com.enderio.core.common.util.BlockCoord;
+import com.enderio.core.common.vecmath.Vector3d;
+
+/**
+ * Index of the travel anchors loaded in a world, maintained by the anchors
+ * themselves as they are loaded and unloaded. Anchors are bucketed by chunk
+ * for range queries and by column for finding the next anchor above or below.
+ */
+public class TravelAnchorRegistry {
+
+  private static final Map<World, TravelAnchorRegistry> registries = new WeakHashMap<World, TravelAnchorRegistry>();
+
+  public static synchronized TravelAnchorRegistry get(World world) {
+    TravelAnchorRegistry res = registries.get(world);
+    if(res == null) {
+      res = new TravelAnchorRegistry();
+      registries.put(world, res);
+    }
+    return res;
+  }
+
+  private final Map<Long, List<BlockCoord>> chunks = new HashMap<Long, List<BlockCoord>>();
+  private final Map<Long, TreeSet<Integer>> columns = new HashMap<Long, TreeSet<Integer>>();
+
+  private TravelAnchorRegistry() {
+  }
+
+  public void add(BlockCoord bc) {
+    long chunkKey = ChunkCoordIntPair.chunkXZ2Int(bc.x >> 4, bc.z >> 4);
+    List<BlockCoord> inChunk = chunks.get(chunkKey);
+    if(inChunk == null) {
+      inChunk = new ArrayList<BlockCoord>();
+      chunks.put(chunkKey, inChunk);
+    }
+    if(inChunk.contains(bc)) {
+      return;
+    }
+    inChunk.add(bc);
+
+    long columnKey = ChunkCoordIntPair.chunkXZ2Int(bc.x, bc.z);
+    TreeSet<Integer> column = columns.get(columnKey);
+    if(column == null) {
+      column = new TreeSet<Integer>();
+      columns.put(columnKey, column);
+    }
+    column.add(bc.y);
+  }
+
+  public void remove(BlockCoord bc) {
+    long chunkKey = ChunkCoordIntPair.chunkXZ2Int(bc.x >> 4, bc.z >> 4);
+    List<BlockCoord> inChunk = chunks.get(chunkKey);
+    if(inChunk == null || !inChunk.remove(bc)) {
+      return;
+    }
+    if(inChunk.isEmpty()) {
+      chunks.remove(chunkKey);
+    }
+
+    long columnKey = ChunkCoordIntPair.chunkXZ2Int(bc.x, bc.z);
+    TreeSet<Integer> column = columns.get(columnKey);
+    if(column != null) {
+      column.remove(bc.y);
+      if(column.isEmpty()) {
+        columns.remove(columnKey);
+      }
+    }
+  }
+
+  /**
+   * Returns the anchors within range of the eye position that lie inside the
+   * cone around the look direction. A cone angle of PI or more disables the
+   * direction test.
+   *
+   * @param look
+   *          normalised look direction
+   */
+  public List<BlockCoord> getAnchorsInView(Vector3d eye, Vector3d look, double halfAngle, double range) {
+    List<BlockCoord> res = new ArrayList<BlockCoord>();
+    double rangeSq = range * range;
+    double minCos = Math.cos(halfAngle);
+    boolean checkAngle = halfAngle < Math.PI;
+    int minCx = ((int) Math.floor(eye.x - range)) >> 4;
+    int maxCx = ((int) Math.floor(eye.x + range)) >> 4;
+    int minCz = ((int) Math.floor(eye.z - range)) >> 4;
+    int maxCz = ((int) Math.floor(eye.z + range)) >> 4;
+    for (int cx = minCx; cx <= maxCx; cx++) {
+      for (int cz = minCz; cz <= maxCz; cz++) {
+        List<BlockCoord> inChunk = chunks.get(ChunkCoordIntPair.chunkXZ2Int(cx, cz));
+        if(inChunk == null) {
+          continue;
+        }
+        for (BlockCoord bc : inChunk) {
+          double dx = bc.x + 0.5 - eye.x;
+          double dy = bc.y + 0.5 - eye.y;
+          double dz = bc.z + 0.5 - eye.z;
+          double distSq = dx * dx + dy * dy + dz * dz;
+          if(distSq > rangeSq) {
+            continue;
+          }
+          if(checkAngle && distSq > 0) {
+            double cos = (dx * look.x + dy * look.y + dz * look.z) / Math.sqrt(distSq);
+            if(cos < minCos) {
+              continue;
+            }
+          }
+          res.add(bc);
+        }
+      }
+    }
+    return res;
+  }
+
+  /**
+   * Returns the heights of the anchors in the column at x, z, strictly above
+   * (direction > 0) or below y, ordered by distance from y.
+   */
+  public NavigableSet<Integer> getAnchorsInColumn(int x, int y, int z, int direction) {
+    TreeSet<Integer> column = columns.get(ChunkCoordIntPair.chunkXZ2Int(x, z));
+    if(column == null) {
+      return new TreeSet<Integer>();
+    }
+    if(direction > 0) {
+      return column.tailSet(y, false);
+    }
+    return column.headSet(y, false).descendingSet();
+  }
+
+}
@@ -245,12 +245,6 @@ public class TravelController {
     return coord.equals(selectedCoord);
   }
 
-  public void addCandidate(BlockCoord coord) {
-    if(!candidates.containsKey(coord)) {
-      candidates.put(coord, -1f);
-    }
-  }
-
   public int getMaxTravelDistanceSq() {
     return TravelSource.getMaxDistanceSq();
   }
@@ -294,6 +288,7 @@ public class TravelController {
       boolean onBlock = onBlockCoord != null;
       showTargets = onBlock || isTravelItemActive(player);
       if(showTargets) {
+        findCandidates(player);
         updateSelectedTarget(player);
       } else {
         selectedCoord = null;
@@ -534,9 +529,11 @@ public class TravelController {
 
     BlockCoord currentBlock = getActiveTravelBlock(player);
     World world = Minecraft.getMinecraft().theWorld;
-    for (int i = 0, y = currentBlock.y + direction; i < Config.travelAnchorMaxDistance && y >= 0 && y <= 255; i++, y += direction) {
+    for (int y : TravelAnchorRegistry.get(world).getAnchorsInColumn(currentBlock.x, currentBlock.y, currentBlock.z, direction)) {
+      if(Math.abs(y - currentBlock.y) > Config.travelAnchorMaxDistance) {
+        return;
+      }
 
-      //Circumvents the raytracing used to find candidates on the y axis
       TileEntity selectedBlock = world.getTileEntity(currentBlock.x, y, currentBlock.z);
 
       if(selectedBlock instanceof ITravelAccessable) {
@@ -563,6 +560,29 @@ public class TravelController {
     }
   }
 
+  /**
+   * Collects the visible anchors in range of the player from the anchor
+   * registry, so targeting does not depend on which anchors got rendered.
+   */
+  @SideOnly(Side.CLIENT)
+  private void findCandidates(EntityClientPlayerMP player) {
+    Vector3d eye = Util.getEyePositionEio(player);
+    Vector3d look = Util.getLookVecEio(player);
+    look.normalize();
+    double range = Math.sqrt(getMaxTravelDistanceSqForPlayer(player));
+    // fovRad is the vertical field of view, use it as the half angle to cover the wider horizontal view
+    double halfAngle = fovRad > 0 ? fovRad : Math.PI;
+    for (BlockCoord bc : TravelAnchorRegistry.get(player.worldObj).getAnchorsInView(eye, look, halfAngle, range)) {
+      if(bc.equals(onBlockCoord) || candidates.containsKey(bc)) {
+        continue;
+      }
+      TileEntity te = player.worldObj.getTileEntity(bc.x, bc.y, bc.z);
+      if(te instanceof ITravelAccessable && ((ITravelAccessable) te).canSeeBlock(player)) {
+        candidates.put(bc, -1f);
+      }
+    }
+  }
+
   @SideOnly(Side.CLIENT)
   private void updateSelectedTarget(EntityClientPlayerMP player) {
     selectedCoord = null;
@@ -12,6 +12,7 @@ import net.minecraft.network.NetworkManager;
 import net.minecraft.network.Packet;
 import net.minecraft.network.play.server.S35PacketUpdateTileEntity;
 
+import com.enderio.core.common.util.BlockCoord;
 import com.enderio.core.common.util.PlayerUtil;
 
 import cpw.mods.fml.relauncher.Side;
@@ -20,6 +21,7 @@ import crazypants.enderio.TileEntityEio;
 import crazypants.enderio.api.teleport.ITravelAccessable;
 import crazypants.enderio.api.teleport.TravelSource;
 import crazypants.enderio.machine.painter.IPaintableTileEntity;
+import crazypants.enderio.teleport.TravelAnchorRegistry;
 
 public class TileTravelAnchor extends TileEntityEio implements ITravelAccessable, IPaintableTileEntity {
 
@@ -41,6 +43,30 @@ public class TileTravelAnchor extends TileEntityEio implements ITravelAccessable
 
   private List<UUID> authorisedUsers = new ArrayList<UUID>();
 
+  @Override
+  public void validate() {
+    super.validate();
+    if(worldObj != null) {
+      TravelAnchorRegistry.get(worldObj).add(new BlockCoord(this));
+    }
+  }
+
+  @Override
+  public void invalidate() {
+    super.invalidate();
+    if(worldObj != null) {
+      TravelAnchorRegistry.get(worldObj).remove(new BlockCoord(this));
+    }
+  }
+
+  @Override
+  public void onChunkUnload() {
+    super.onChunkUnload();
+    if(worldObj != null) {
+      TravelAnchorRegistry.get(worldObj).remove(new BlockCoord(this));
+    }
+  }
+
   @Override
   public boolean canBlockBeAccessed(EntityPlayer playerName) {
     if(accessMode == AccessMode.PUBLIC) {
@@ -72,7 +72,6 @@ public class TravelEntitySpecialRenderer extends TileEntitySpecialRenderer {
     double sf = TravelController.instance.getScaleForCandidate(loc);
 
     BlockCoord bc = new BlockCoord(tileentity);
-    TravelController.instance.addCandidate(bc);
 
     Minecraft.getMinecraft().entityRenderer.disableLightmap(0);
 